@@ -0,0 +1,81 @@
+package com.dmvlab.swapserver.benchmark;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class BenchmarkData {
+    static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a list of distinct servers shaped like a typical servers.json.
+     *
+     * @param size number of entries
+     * @return the generated entries
+     */
+    static List<ServerEntry> servers(int size) {
+        List<ServerEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new ServerEntry(serverName(i), "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255),
+                    5520 + i % 10));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the name of the generated server at the given index.
+     *
+     * @param index entry index
+     * @return the server name
+     */
+    static String serverName(int index) {
+        return "Server-" + index;
+    }
+
+    /**
+     * Creates a temporary data folder holding a servers.json with the given entries.
+     *
+     * @param entries entries to write
+     * @return the data folder
+     */
+    static Path dataFolder(List<ServerEntry> entries) {
+        try {
+            Path folder = Files.createTempDirectory("swapserver-bench");
+            Files.writeString(folder.resolve("servers.json"), GSON.toJson(entries), StandardCharsets.UTF_8);
+            return folder;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes a folder created by {@link #dataFolder(List)}.
+     *
+     * @param folder folder to delete
+     */
+    static void delete(Path folder) {
+        if (folder == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.dmvlab.swapserver.benchmark;
+
+import com.dmvlab.swapserver.i18n.I18nManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class I18nBenchmark {
+    private MethodHandle load;
+    private I18nManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        manager = I18nManager.forLocale("en_US");
+        // forLocale hands out cached instances, so cold construction goes through the private loader.
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(I18nManager.class, MethodHandles.lookup());
+        load = lookup.findStatic(I18nManager.class, "load", MethodType.methodType(I18nManager.class, String.class));
+    }
+
+    /**
+     * Reads and compiles a language file, which is what the first player of a locale pays for.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public I18nManager construct() throws Throwable {
+        return (I18nManager) load.invokeExact("en_US");
+    }
+
+    @Benchmark
+    public I18nManager forLocaleCached() {
+        return I18nManager.forLocale("fr-FR");
+    }
+
+    @Benchmark
+    public String translatePlain() {
+        return manager.translate("ui_join");
+    }
+
+    @Benchmark
+    public String translateWithArgs() {
+        return manager.translate("server_not_found", "Lobby");
+    }
+
+    @Benchmark
+    public String translateMissingKey() {
+        return manager.translate("missing_key_{0}", "x");
+    }
+}
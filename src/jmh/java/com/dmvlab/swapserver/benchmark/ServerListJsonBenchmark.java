@@ -0,0 +1,54 @@
+package com.dmvlab.swapserver.benchmark;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Gson work behind loading and saving servers.json, without the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerListJsonBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private List<ServerEntry> entries;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entries = BenchmarkData.servers(size);
+        json = BenchmarkData.GSON.toJson(entries);
+    }
+
+    @Benchmark
+    public ServerEntry[] load() {
+        return BenchmarkData.GSON.fromJson(json, ServerEntry[].class);
+    }
+
+    @Benchmark
+    public int save() {
+        StringWriter out = new StringWriter(json.length());
+        BenchmarkData.GSON.toJson(entries, out);
+        return out.getBuffer().length();
+    }
+}
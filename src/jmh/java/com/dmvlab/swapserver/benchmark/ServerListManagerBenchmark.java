@@ -0,0 +1,71 @@
+package com.dmvlab.swapserver.benchmark;
+
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.model.ServerEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerListManagerBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private Path dataFolder;
+    private ServerListManager manager;
+    private String hitName;
+    private ServerEntry extraEntry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataFolder = BenchmarkData.dataFolder(BenchmarkData.servers(size));
+        manager = new ServerListManager(dataFolder);
+        hitName = BenchmarkData.serverName(size / 2).toUpperCase();
+        extraEntry = new ServerEntry("Bench-Extra", "127.0.0.1", 5520);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.shutdown();
+        BenchmarkData.delete(dataFolder);
+    }
+
+    @Benchmark
+    public Optional<ServerEntry> findServerByNameHit() {
+        return manager.findServerByName(hitName);
+    }
+
+    @Benchmark
+    public Optional<ServerEntry> findServerByNameMiss() {
+        return manager.findServerByName("Missing-Server");
+    }
+
+    /**
+     * Adds and removes one entry, which publishes two snapshots and schedules the coalesced save.
+     */
+    @Benchmark
+    public long addThenRemove() {
+        manager.addServer(extraEntry);
+        manager.removeServer(extraEntry.getName());
+        return manager.getVersion();
+    }
+}
@@ -0,0 +1,98 @@
+package com.dmvlab.swapserver.benchmark;
+
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.ui.ServerListRender;
+import com.dmvlab.swapserver.ui.ServerListRenderCache;
+import com.dmvlab.swapserver.ui.ServerListView;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the command generation behind SwapServerPage.populateServerList. The page itself needs a
+ * running server, so these benchmarks drive the same view, cache and replay calls it makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerListRenderBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean admin;
+
+    private Path dataFolder;
+    private ServerListManager manager;
+    private ServerHealthProber healthProber;
+    private ServerListRenderCache renderCache;
+    private I18nManager i18nManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataFolder = BenchmarkData.dataFolder(BenchmarkData.servers(size));
+        manager = new ServerListManager(dataFolder);
+        healthProber = new ServerHealthProber(manager, new HostResolver());
+        renderCache = new ServerListRenderCache(healthProber);
+        i18nManager = I18nManager.forLocale("en_US");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        healthProber.close();
+        manager.shutdown();
+        BenchmarkData.delete(dataFolder);
+    }
+
+    /**
+     * Same calls as an unfiltered populateServerList, served from the render cache after the first run.
+     */
+    @Benchmark
+    public int populateCached() {
+        ServerListView view = ServerListView.select(manager.getSnapshot(), "", 0);
+        return replay(renderCache.get(view, false, i18nManager, admin));
+    }
+
+    /**
+     * Same calls as a filtered populateServerList, which renders the page every time.
+     */
+    @Benchmark
+    public int populateFiltered() {
+        ServerListView view = ServerListView.select(manager.getSnapshot(), "server-1", 0);
+        return replay(renderCache.get(view, true, i18nManager, admin));
+    }
+
+    @Benchmark
+    public ServerListRender renderPage() {
+        ServerListView view = ServerListView.select(manager.getSnapshot(), "", 0);
+        return ServerListRender.render(view, healthProber, i18nManager, admin);
+    }
+
+    private static int replay(ServerListRender render) {
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        render.replay(commandBuilder, eventBuilder);
+        return commandBuilder.size() + eventBuilder.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.dmvlab.swapserver.loadsim;
+
+import com.dmvlab.swapserver.i18n.I18nManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Settings of one simulation run, read from {@code --key=value} arguments.
+ */
+final class LoadSimOptions {
+    private static final String DEFAULT_LOCALES = "en_US:0.6,fr_FR:0.3,de_DE:0.1";
+
+    final int players;
+    final int admins;
+    final int worlds;
+    final int servers;
+    final int durationSeconds;
+    final int warmupSeconds;
+    final double clicksPerSecond;
+    final double editsPerSecond;
+    final long seed;
+    private final List<String> locales;
+    private final double[] cumulativeWeights;
+
+    /**
+     * Reads the options from their parsed values.
+     *
+     * @param values option values by name
+     */
+    private LoadSimOptions(Map<String, String> values) {
+        this.players = Math.max(1, intValue(values, "players", 2000));
+        this.admins = Math.max(0, Math.min(players, intValue(values, "admins", 4)));
+        this.worlds = Math.max(1, intValue(values, "worlds", 4));
+        this.servers = Math.max(1, intValue(values, "servers", 500));
+        this.durationSeconds = Math.max(1, intValue(values, "duration", 30));
+        this.warmupSeconds = Math.max(0, intValue(values, "warmup", 5));
+        this.clicksPerSecond = Math.max(0.0, doubleValue(values, "clicks", 0.5));
+        this.editsPerSecond = Math.max(0.0, doubleValue(values, "edits", 2.0));
+        this.seed = values.containsKey("seed") ? Long.parseLong(values.get("seed")) : System.currentTimeMillis();
+
+        List<String> parsedLocales = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String part : values.getOrDefault("locales", DEFAULT_LOCALES).split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.lastIndexOf(':');
+            String locale = separator > 0 ? trimmed.substring(0, separator) : trimmed;
+            double weight = separator > 0 ? Double.parseDouble(trimmed.substring(separator + 1)) : 1.0;
+            if (weight > 0.0) {
+                parsedLocales.add(locale);
+                weights.add(weight);
+            }
+        }
+        if (parsedLocales.isEmpty()) {
+            parsedLocales.add(I18nManager.DEFAULT_LOCALE);
+            weights.add(1.0);
+        }
+        this.locales = Collections.unmodifiableList(parsedLocales);
+        this.cumulativeWeights = new double[weights.size()];
+        double total = 0.0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            cumulativeWeights[i] /= total;
+        }
+    }
+
+    /**
+     * Parses {@code --key=value} arguments. Unknown keys are rejected so typos do not go unnoticed.
+     *
+     * @param args command line arguments
+     * @return the options
+     * @throws IllegalArgumentException if an argument is malformed or unknown
+     */
+    static LoadSimOptions parse(String[] args) {
+        List<String> known = List.of("players", "admins", "worlds", "servers", "duration", "warmup", "clicks",
+                "edits", "locales", "seed");
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, separator).toLowerCase(Locale.ROOT);
+            if (!known.contains(key)) {
+                throw new IllegalArgumentException("Unknown option --" + key + ", expected one of " + known);
+            }
+            String value = arg.substring(separator + 1).trim();
+            if (!value.isEmpty()) {
+                values.put(key, value);
+            }
+        }
+        return new LoadSimOptions(values);
+    }
+
+    /**
+     * Picks a locale following the configured mix.
+     *
+     * @param random source of randomness
+     * @return the locale code
+     */
+    String pickLocale(Random random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return locales.get(i);
+            }
+        }
+        return locales.get(locales.size() - 1);
+    }
+
+    /**
+     * Describes the locale mix for the report header.
+     *
+     * @return locales with their shares
+     */
+    String describeLocales() {
+        StringBuilder description = new StringBuilder();
+        double previous = 0.0;
+        for (int i = 0; i < locales.size(); i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(locales.get(i)).append(' ')
+                    .append(Math.round((cumulativeWeights[i] - previous) * 100.0)).append('%');
+            previous = cumulativeWeights[i];
+        }
+        return description.toString();
+    }
+
+    /**
+     * Reads an integer option.
+     *
+     * @param values option values by name
+     * @param key option name
+     * @param fallback value used when the option is missing
+     * @return the value
+     */
+    private static int intValue(Map<String, String> values, String key, int fallback) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : fallback;
+    }
+
+    /**
+     * Reads a decimal option.
+     *
+     * @param values option values by name
+     * @param key option name
+     * @param fallback value used when the option is missing
+     * @return the value
+     */
+    private static double doubleValue(Map<String, String> values, String key, double fallback) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : fallback;
+    }
+}
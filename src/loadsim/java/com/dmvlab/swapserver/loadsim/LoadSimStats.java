@@ -0,0 +1,21 @@
+package com.dmvlab.swapserver.loadsim;
+
+import com.dmvlab.swapserver.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of one measurement window. A fresh instance replaces the warm-up one
+ * once the warm-up ends.
+ */
+final class LoadSimStats {
+    final LongAdder openRequests = new LongAdder();
+    final LongAdder opens = new LongAdder();
+    final LongAdder events = new LongAdder();
+    final LongAdder edits = new LongAdder();
+    final LongAdder closes = new LongAdder();
+    final LongAdder transfers = new LongAdder();
+    final LatencyHistogram openLatency = new LatencyHistogram();
+    final LatencyHistogram eventLatency = new LatencyHistogram();
+    final LatencyHistogram actionLatency = new LatencyHistogram();
+}
@@ -0,0 +1,481 @@
+package com.dmvlab.swapserver.loadsim;
+
+import com.dmvlab.swapserver.SwapServerServices;
+import com.dmvlab.swapserver.commands.SwsCommand;
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.health.ServerPopulation;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.i18n.TranslationDelivery;
+import com.dmvlab.swapserver.manager.ServerListBatch;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.metrics.LatencyHistogram;
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.dmvlab.swapserver.routing.TransferAdmissionController;
+import com.dmvlab.swapserver.ui.SwapServerPageOpener;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Headless load simulation of the {@code /sws} menu.
+ *
+ * <p>Wires the plugin the way {@code SwapServerPlugin} does, over a generated server list and simulated
+ * probes, then drives it with simulated players spread over several world threads. Players run
+ * {@code /sws}, page, filter, switch tabs, sort, join and close the menu at random times; admins add and
+ * delete servers through the menu, which pushes list updates to every open menu. Everything above the
+ * Hytale API is the plugin's own code: {@link SwsCommand}, {@link SwapServerPageOpener}, the page's build
+ * and event handling and {@link I18nManager}. After a warm-up the run prints throughput, latency
+ * percentiles, allocation rate and world thread busy time, and exits with status 1 if a world task failed.</p>
+ *
+ * <p>Usage: {@code LoadSimulator [--players=2000] [--admins=4] [--worlds=4] [--servers=500] [--duration=30]
+ * [--warmup=5] [--clicks=0.5] [--edits=2] [--locales=en_US:0.6,fr_FR:0.3,de_DE:0.1] [--seed=...]}.
+ * {@code clicks} is per player per second, {@code edits} is per second over all admins.</p>
+ */
+public final class LoadSimulator {
+    private static final String[] TAGS = {"Lobby", "Minigames", "Survival", "Creative", "PvP", "Events"};
+    private static final int QUERY_PORT = 5521;
+    private static final long PROBE_INTERVAL_MILLIS = 1_000L;
+    private static final int PROBE_TIMEOUT_MILLIS = 500;
+    private static final int MAX_CONCURRENT_PROBES = 64;
+    private static final long MAX_DRIVER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadSimOptions options;
+    private final AtomicReference<LoadSimStats> stats = new AtomicReference<>(new LoadSimStats());
+    private final List<SimulatedWorld> worlds = new ArrayList<>();
+    private final List<SimulatedPlayer> players = new ArrayList<>();
+
+    private LoadSimulator(LoadSimOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs one simulation.
+     *
+     * @param args {@code --key=value} options, all optional
+     * @throws Exception if the data folder cannot be set up or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        LoadSimOptions options = LoadSimOptions.parse(args);
+        System.out.printf(Locale.ROOT, "Load simulation: %d players (%d admins) on %d worlds, %d servers, "
+                + "%.2f clicks/s per player, %.2f edits/s, seed %d%n", options.players, options.admins,
+                options.worlds, options.servers, options.clicksPerSecond, options.editsPerSecond, options.seed);
+        System.out.println("  locales " + options.describeLocales() + ", warm-up " + options.warmupSeconds
+                + " s, measured " + options.durationSeconds + " s");
+        if (!new LoadSimulator(options).run()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Sets the plugin up in a fresh data folder, drives the load and prints the report.
+     *
+     * @return true if no world task failed
+     * @throws Exception if the data folder cannot be set up or the run is interrupted
+     */
+    private boolean run() throws Exception {
+        Path dataFolder = Files.createTempDirectory("swapserver-loadsim-");
+        ServerListManager serverManager = new ServerListManager(dataFolder);
+        HostResolver hostResolver = new HostResolver();
+        ServerHealthProber healthProber = null;
+        TransferAdmissionController admissionController = new TransferAdmissionController();
+        SwapServerServices services = null;
+        SwapServerPageOpener pageOpener = null;
+        try {
+            serverManager.applyBatch(generateServers(new Random(options.seed)));
+            I18nManager.preloadBundledLocales();
+            serverManager.addListener(hostResolver);
+            healthProber = new ServerHealthProber(serverManager, hostResolver, LoadSimulator::probe,
+                    LoadSimulator::queryPopulation, QUERY_PORT, PROBE_INTERVAL_MILLIS, PROBE_TIMEOUT_MILLIS,
+                    MAX_CONCURRENT_PROBES);
+            healthProber.start();
+            admissionController.start();
+            TranslationDelivery translationDelivery = new TranslationDelivery();
+            services = new SwapServerServices(serverManager, hostResolver, healthProber, translationDelivery,
+                    admissionController);
+            pageOpener = new SwapServerPageOpener(services);
+            SwsCommand command = new SwsCommand(pageOpener, serverManager, dataFolder);
+
+            for (int i = 0; i < options.worlds; i++) {
+                worlds.add(new SimulatedWorld("World-" + i));
+            }
+            Random random = new Random(options.seed);
+            List<String> tags = List.of(TAGS);
+            for (int i = 0; i < options.players; i++) {
+                boolean admin = i < options.admins;
+                players.add(new SimulatedPlayer((admin ? "Admin" : "Player") + i, options.pickLocale(random), admin,
+                        worlds.get(i % worlds.size()), command, serverManager, translationDelivery,
+                        services.getPageRegistry(), tags, stats, options.seed * 31 + i));
+            }
+
+            return drive(random);
+        } finally {
+            for (SimulatedWorld world : worlds) {
+                world.stop();
+            }
+            if (pageOpener != null) {
+                pageOpener.close();
+            }
+            if (services != null) {
+                services.getTransferRouter().close();
+            }
+            admissionController.close();
+            if (healthProber != null) {
+                healthProber.close();
+            }
+            hostResolver.close();
+            serverManager.shutdown();
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    /**
+     * Schedules clicks and edits as Poisson arrivals until the run ends, then prints the report.
+     *
+     * @param random source of arrival times
+     * @return true if no world task failed
+     */
+    private boolean drive(Random random) {
+        PriorityQueue<Arrival> arrivals = new PriorityQueue<>(Comparator.comparingLong(arrival -> arrival.dueNanos));
+        long startNanos = System.nanoTime();
+        double perPlayerRate = Math.max(options.clicksPerSecond, 1e-9);
+        for (SimulatedPlayer player : players) {
+            // The first click of every player opens the menu.
+            arrivals.add(new Arrival(player, false, startNanos + nextDelayNanos(random, perPlayerRate)));
+        }
+        List<SimulatedPlayer> admins = players.stream().filter(SimulatedPlayer::isAdmin).toList();
+        if (!admins.isEmpty() && options.editsPerSecond > 0.0) {
+            double perAdminRate = options.editsPerSecond / admins.size();
+            for (SimulatedPlayer admin : admins) {
+                arrivals.add(new Arrival(admin, true, startNanos + nextDelayNanos(random, perAdminRate)));
+            }
+        }
+
+        long measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        Baseline baseline = options.warmupSeconds == 0 ? startMeasuring() : null;
+        while (true) {
+            long now = System.nanoTime();
+            if (baseline == null && now >= measureStartNanos) {
+                baseline = startMeasuring();
+            }
+            if (now >= endNanos) {
+                break;
+            }
+            Arrival next = arrivals.peek();
+            if (next == null || next.dueNanos > now) {
+                long until = next == null ? endNanos : Math.min(next.dueNanos, endNanos);
+                LockSupport.parkNanos(Math.min(until - now, MAX_DRIVER_PARK_NANOS));
+                continue;
+            }
+            arrivals.poll();
+            if (next.edit) {
+                next.player.edit();
+            } else {
+                next.player.click();
+            }
+            if (next.edit || options.clicksPerSecond > 0.0) {
+                double rate = next.edit ? options.editsPerSecond / admins.size() : options.clicksPerSecond;
+                next.dueNanos += nextDelayNanos(random, rate);
+                arrivals.add(next);
+            }
+        }
+        return report(baseline, stats.getAndSet(new LoadSimStats()), System.nanoTime());
+    }
+
+    /**
+     * Starts the measurement window: fresh counters and histograms, and a baseline of every running total.
+     *
+     * @return the baseline
+     */
+    private Baseline startMeasuring() {
+        stats.set(new LoadSimStats());
+        for (SimulatedWorld world : worlds) {
+            world.resetQueueWait();
+        }
+        return new Baseline(System.nanoTime(), totalAllocatedBytes(), worlds, players);
+    }
+
+    /**
+     * Prints the report of the measurement window.
+     *
+     * @param baseline running totals when the window started
+     * @param measured counters and histograms of the window
+     * @param endNanos when the window ended
+     * @return true if no world task failed
+     */
+    private boolean report(Baseline baseline, LoadSimStats measured, long endNanos) {
+        double seconds = (endNanos - baseline.startNanos) / 1e9;
+        long[] busyNanos = new long[worlds.size()];
+        long[] taskCounts = new long[worlds.size()];
+        long[] worldAllocated = new long[worlds.size()];
+        int[] queueLengths = new int[worlds.size()];
+        for (int i = 0; i < worlds.size(); i++) {
+            SimulatedWorld world = worlds.get(i);
+            busyNanos[i] = world.getBusyNanos() - baseline.busyNanos[i];
+            taskCounts[i] = world.getTaskCount() - baseline.taskCounts[i];
+            worldAllocated[i] = world.getAllocatedBytes() - baseline.worldAllocatedBytes[i];
+            queueLengths[i] = world.getQueueLength();
+        }
+        long allocated = totalAllocatedBytes() - baseline.allocatedBytes;
+
+        // Packet counts are published by the world threads; let them count what is still queued.
+        for (SimulatedPlayer player : players) {
+            player.refreshCounts();
+        }
+        awaitIdle();
+        long pageUpdates = 0L;
+        long packets = 0L;
+        for (int i = 0; i < players.size(); i++) {
+            pageUpdates += players.get(i).getPageUpdates() - baseline.pageUpdates[i];
+            packets += players.get(i).getPackets() - baseline.packets[i];
+        }
+
+        System.out.println("Throughput");
+        printRate("/sws runs", measured.openRequests.sum(), seconds);
+        printRate("menus opened", measured.opens.sum(), seconds);
+        printRate("UI events", measured.events.sum(), seconds);
+        printRate("admin edits", measured.edits.sum(), seconds);
+        printRate("transfers", measured.transfers.sum(), seconds);
+        printRate("menus closed", measured.closes.sum(), seconds);
+        printRate("page packets", pageUpdates, seconds);
+        printRate("all packets", packets, seconds);
+
+        System.out.printf(Locale.ROOT, "Latency (ms)%32s %9s %9s %9s%n", "count", "p50", "p99", "max");
+        printLatency("/sws to menu open", measured.openLatency);
+        printLatency("handleDataEvent", measured.eventLatency);
+        printLatency("click queued to handled", measured.actionLatency);
+        for (SimulatedWorld world : worlds) {
+            printLatency(world.getName() + " queue wait", world.getQueueWait());
+        }
+        System.out.println("Plugin timers, warm-up included (ms)");
+        for (PluginTimer timer : PluginTimer.values()) {
+            printLatency(timer.getMetricName(), timer.getHistogram());
+        }
+
+        System.out.println("Allocation");
+        if (allocated >= 0L) {
+            System.out.printf(Locale.ROOT, "  %-30s %,12.1f MB/s%n", "all threads", allocated / seconds / 1e6);
+        } else {
+            System.out.println("  all threads                    not measured by this JVM");
+        }
+        long worldTasks = 0L;
+        long worldBytes = 0L;
+        for (int i = 0; i < worlds.size(); i++) {
+            worldTasks += taskCounts[i];
+            worldBytes += worldAllocated[i];
+        }
+        if (baseline.worldAllocatedBytes.length > 0 && baseline.worldAllocatedBytes[0] >= 0L) {
+            System.out.printf(Locale.ROOT, "  %-30s %,12.1f MB/s %,10.1f KB per task%n", "world threads",
+                    worldBytes / seconds / 1e6, worldTasks > 0 ? worldBytes / 1024.0 / worldTasks : 0.0);
+        }
+
+        System.out.println("World threads");
+        long failures = 0L;
+        for (int i = 0; i < worlds.size(); i++) {
+            SimulatedWorld world = worlds.get(i);
+            failures += world.getFailureCount();
+            System.out.printf(Locale.ROOT, "  %-30s %6.1f%% busy %,12d tasks %,8d queued at the end%n",
+                    world.getName(), busyNanos[i] * 100.0 / (seconds * 1e9), taskCounts[i], queueLengths[i]);
+        }
+        if (failures > 0L) {
+            System.err.println("Load simulation failed: " + failures + " world tasks threw an exception");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every world has run what was queued so far.
+     */
+    private void awaitIdle() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (SimulatedWorld world : worlds) {
+            while (world.getQueueLength() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(MAX_DRIVER_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Prints one throughput line.
+     *
+     * @param label what was counted
+     * @param count count in the window
+     * @param seconds length of the window
+     */
+    private static void printRate(String label, long count, double seconds) {
+        System.out.printf(Locale.ROOT, "  %-30s %,12.1f /s %,12d total%n", label, count / seconds, count);
+    }
+
+    /**
+     * Prints one latency line.
+     *
+     * @param label what was timed
+     * @param histogram recorded durations
+     */
+    private static void printLatency(String label, LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        System.out.printf(Locale.ROOT, "  %-30s %,12d %9.3f %9.3f %9.3f%n", label, snapshot.getCount(),
+                snapshot.getPercentileNanos(50.0) / 1e6, snapshot.getPercentileNanos(99.0) / 1e6,
+                snapshot.getMaxNanos() / 1e6);
+    }
+
+    /**
+     * Returns the bytes allocated by every thread of the JVM so far.
+     *
+     * @return allocated bytes, or -1 if the JVM does not measure them
+     */
+    private static long totalAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean allocation
+                && allocation.isThreadAllocatedMemorySupported() && allocation.isThreadAllocatedMemoryEnabled()) {
+            return allocation.getTotalThreadAllocatedBytes();
+        }
+        return -1L;
+    }
+
+    /**
+     * Draws the delay to the next arrival of a Poisson process.
+     *
+     * @param random source of randomness
+     * @param perSecond mean arrivals per second
+     * @return the delay in nanoseconds
+     */
+    private static long nextDelayNanos(Random random, double perSecond) {
+        return (long) (-Math.log(1.0 - random.nextDouble()) / perSecond * 1e9);
+    }
+
+    /**
+     * Builds the server list: numbered entries on private addresses, each with one or two category tags.
+     *
+     * @param random source of randomness
+     * @return the batch adding every server
+     */
+    private ServerListBatch generateServers(Random random) {
+        ServerListBatch batch = new ServerListBatch();
+        for (int i = 0; i < options.servers; i++) {
+            ServerEntry entry = new ServerEntry(String.format(Locale.ROOT, "Sim-%04d", i),
+                    "10.0." + (i / 250) + "." + (i % 250 + 1), 5520);
+            List<String> entryTags = new ArrayList<>(2);
+            entryTags.add(TAGS[random.nextInt(TAGS.length)]);
+            if (random.nextInt(4) == 0) {
+                String second = TAGS[random.nextInt(TAGS.length)];
+                if (!entryTags.contains(second)) {
+                    entryTags.add(second);
+                }
+            }
+            entry.setTags(entryTags);
+            batch.put(entry);
+        }
+        return batch;
+    }
+
+    /**
+     * Simulated version probe: answers at once with a latency derived from the address. One server in
+     * twenty is down.
+     *
+     * @param host server address
+     * @param port server port
+     * @param timeoutMillis ignored
+     * @return the simulated round trip in nanoseconds
+     * @throws IOException if the server is one of the down ones
+     */
+    private static long probe(String host, int port, int timeoutMillis) throws IOException {
+        int hash = Math.floorMod(host.hashCode() * 31 + port, 1000);
+        if (hash % 20 == 0) {
+            throw new IOException("Simulated timeout");
+        }
+        return TimeUnit.MILLISECONDS.toNanos(2 + hash % 60);
+    }
+
+    /**
+     * Simulated population query: a stable base count per address with some jitter.
+     *
+     * @param host server address
+     * @param port query port
+     * @param timeoutMillis ignored
+     * @return the simulated population
+     */
+    private static ServerPopulation queryPopulation(String host, int port, int timeoutMillis) {
+        int base = Math.floorMod(host.hashCode(), 200);
+        return new ServerPopulation(base + ThreadLocalRandom.current().nextInt(10), 250,
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Deletes the data folder of the run.
+     *
+     * @param folder folder to delete
+     */
+    private static void deleteRecursively(Path folder) {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete " + folder + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A scheduled click or edit of one player.
+     */
+    private static final class Arrival {
+        private final SimulatedPlayer player;
+        private final boolean edit;
+        private long dueNanos;
+
+        private Arrival(SimulatedPlayer player, boolean edit, long dueNanos) {
+            this.player = player;
+            this.edit = edit;
+            this.dueNanos = dueNanos;
+        }
+    }
+
+    /**
+     * Running totals taken when the measurement window starts.
+     */
+    private static final class Baseline {
+        private final long startNanos;
+        private final long allocatedBytes;
+        private final long[] busyNanos;
+        private final long[] taskCounts;
+        private final long[] worldAllocatedBytes;
+        private final long[] pageUpdates;
+        private final long[] packets;
+
+        private Baseline(long startNanos, long allocatedBytes, List<SimulatedWorld> worlds,
+                List<SimulatedPlayer> players) {
+            this.startNanos = startNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.busyNanos = new long[worlds.size()];
+            this.taskCounts = new long[worlds.size()];
+            this.worldAllocatedBytes = new long[worlds.size()];
+            for (int i = 0; i < worlds.size(); i++) {
+                busyNanos[i] = worlds.get(i).getBusyNanos();
+                taskCounts[i] = worlds.get(i).getTaskCount();
+                worldAllocatedBytes[i] = worlds.get(i).getAllocatedBytes();
+            }
+            this.pageUpdates = new long[players.size()];
+            this.packets = new long[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                pageUpdates[i] = players.get(i).getPageUpdates();
+                packets[i] = players.get(i).getPackets();
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.dmvlab.swapserver.loadsim;
+
+import com.dmvlab.swapserver.commands.SwsCommand;
+import com.dmvlab.swapserver.i18n.TranslationDelivery;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.dmvlab.swapserver.ui.SwapServerPage;
+import com.dmvlab.swapserver.ui.SwapServerPageRegistry;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.PageManager;
+import com.hypixel.hytale.server.core.io.PacketHandler;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One simulated client. Every action runs on the player's world thread, like packet handling does on a
+ * real server: a closed menu is opened through {@code /sws}, an open one receives the event payloads the
+ * client would send for its buttons and fields. A player that was transferred comes back as a new
+ * connection.
+ */
+final class SimulatedPlayer {
+    private static final long OPEN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final String ADMIN_PERMISSION = "swapserver.admin";
+    private static final String[] FILTERS = {"", "", "Sim-1", "Sim-02", "sim-3", "no-such-server"};
+
+    private final String username;
+    private final String locale;
+    private final boolean admin;
+    private final SimulatedWorld world;
+    private final SwsCommand command;
+    private final ServerListManager serverManager;
+    private final TranslationDelivery translationDelivery;
+    private final SwapServerPageRegistry pageRegistry;
+    private final List<String> tags;
+    private final AtomicReference<LoadSimStats> stats;
+    private final Random random;
+    private final List<String> addedServers = new ArrayList<>();
+    private PlayerRef playerRef;
+    private Player player;
+    private Ref<EntityStore> ref;
+    private long openStartedNanos;
+    private long retiredPageUpdates;
+    private long retiredPackets;
+    private volatile long pageUpdates;
+    private volatile long packets;
+
+    /**
+     * Creates a player and connects it to its world.
+     *
+     * @param username name of the player
+     * @param locale language the client reports
+     * @param admin whether the player has the admin permission
+     * @param world world the player is in
+     * @param command the {@code /sws} command
+     * @param serverManager registry the player picks join targets from
+     * @param translationDelivery delivery that is told about reconnects
+     * @param pageRegistry registry that is told about reconnects
+     * @param tags category tags in use, clicked as tabs
+     * @param stats current measurement window
+     * @param seed seed of the player's own randomness
+     */
+    SimulatedPlayer(String username, String locale, boolean admin, SimulatedWorld world, SwsCommand command,
+            ServerListManager serverManager, TranslationDelivery translationDelivery,
+            SwapServerPageRegistry pageRegistry, List<String> tags, AtomicReference<LoadSimStats> stats, long seed) {
+        this.username = username;
+        this.locale = locale;
+        this.admin = admin;
+        this.world = world;
+        this.command = command;
+        this.serverManager = serverManager;
+        this.translationDelivery = translationDelivery;
+        this.pageRegistry = pageRegistry;
+        this.tags = tags;
+        this.stats = stats;
+        this.random = new Random(seed);
+        world.execute(this::connect);
+    }
+
+    /**
+     * Queues a click on the world thread: opens the menu if it is closed, otherwise sends a random event.
+     */
+    void click() {
+        long submittedNanos = System.nanoTime();
+        world.execute(() -> {
+            act(false);
+            stats.get().actionLatency.record(System.nanoTime() - submittedNanos);
+        });
+    }
+
+    /**
+     * Queues an admin edit on the world thread: adds a server or deletes one this admin added.
+     * Opens the menu instead if it is closed.
+     */
+    void edit() {
+        long submittedNanos = System.nanoTime();
+        world.execute(() -> {
+            act(true);
+            stats.get().actionLatency.record(System.nanoTime() - submittedNanos);
+        });
+    }
+
+    /**
+     * Queues a refresh of the packet counts on the world thread, so updates pushed to the player since
+     * its last action are counted.
+     */
+    void refreshCounts() {
+        world.execute(this::publishPacketCounts);
+    }
+
+    /**
+     * Returns whether the player has the admin permission.
+     *
+     * @return true for admins
+     */
+    boolean isAdmin() {
+        return admin;
+    }
+
+    /**
+     * Returns the UI page packets sent to this player, over every connection.
+     *
+     * @return the packet count, as of the player's last action
+     */
+    long getPageUpdates() {
+        return pageUpdates;
+    }
+
+    /**
+     * Returns all packets sent to this player, over every connection.
+     *
+     * @return the packet count, as of the player's last action
+     */
+    long getPackets() {
+        return packets;
+    }
+
+    /**
+     * Performs one action on the world thread.
+     *
+     * @param editing whether the action is an admin edit
+     */
+    private void act(boolean editing) {
+        if (playerRef.getReferralCount() > 0) {
+            stats.get().transfers.increment();
+            reconnect();
+        }
+        SwapServerPage page = openPage();
+        if (page == null) {
+            requestOpen();
+        } else if (editing) {
+            sendEdit(page);
+        } else {
+            sendClick(page);
+        }
+        publishPacketCounts();
+    }
+
+    /**
+     * Creates the player's entity and components.
+     */
+    private void connect() {
+        Store<EntityStore> store = world.getStore();
+        playerRef = new PlayerRef(username, locale);
+        player = new Player(admin ? Set.of(ADMIN_PERMISSION) : Collections.emptySet(),
+                new PageManager(this::onPageOpened));
+        ref = new Ref<>(store);
+        store.putComponent(ref, PlayerRef.getComponentType(), playerRef);
+        store.putComponent(ref, Player.getComponentType(), player);
+        openStartedNanos = 0L;
+    }
+
+    /**
+     * Drops the current connection after a transfer and connects again, like a player coming back.
+     */
+    private void reconnect() {
+        PacketHandler handler = playerRef.getPacketHandler();
+        synchronized (handler) {
+            retiredPageUpdates += handler.customPageUpdates;
+            retiredPackets += handler.written;
+        }
+        InteractiveCustomUIPage<?> page = player.getPageManager().getCustomPage();
+        if (page != null) {
+            player.getPageManager().setPage(ref, world.getStore(), Page.None);
+        }
+        translationDelivery.forget(playerRef);
+        pageRegistry.forget(playerRef);
+        ref.invalidate();
+        world.getStore().removeEntity(ref);
+        connect();
+    }
+
+    /**
+     * Runs {@code /sws}, unless an open is already in flight.
+     */
+    private void requestOpen() {
+        long now = System.nanoTime();
+        if (openStartedNanos != 0L && now - openStartedNanos < OPEN_TIMEOUT_NANOS) {
+            return;
+        }
+        openStartedNanos = now;
+        stats.get().openRequests.increment();
+        command.execute(new CommandContext(player, ref, "sws", Map.of()));
+    }
+
+    /**
+     * Records the open latency once the page manager opened the menu.
+     *
+     * @param page the page that was opened
+     */
+    private void onPageOpened(InteractiveCustomUIPage<?> page) {
+        LoadSimStats current = stats.get();
+        current.opens.increment();
+        if (openStartedNanos != 0L) {
+            current.openLatency.record(System.nanoTime() - openStartedNanos);
+            openStartedNanos = 0L;
+        }
+    }
+
+    /**
+     * Sends a random player event: paging, filtering, switching tabs, sorting, joining or closing.
+     *
+     * @param page the open menu
+     */
+    private void sendClick(SwapServerPage page) {
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            dispatch(page, Map.of("PageAction", "next"));
+        } else if (roll < 45) {
+            dispatch(page, Map.of("PageAction", "prev"));
+        } else if (roll < 60) {
+            dispatch(page, Map.of("@Filter", FILTERS[random.nextInt(FILTERS.length)]));
+        } else if (roll < 75) {
+            int tab = random.nextInt(tags.size() + 1);
+            dispatch(page, tab == tags.size() ? Map.of("PageAction", "all") : Map.of("Category", tags.get(tab)));
+        } else if (roll < 85) {
+            dispatch(page, Map.of("PageAction", "sort"));
+        } else if (roll < 95) {
+            List<ServerEntry> entries = serverManager.getServerList();
+            if (!entries.isEmpty()) {
+                dispatch(page, Map.of("ServerName", entries.get(random.nextInt(entries.size())).getName()));
+            }
+        } else {
+            stats.get().closes.increment();
+            player.getPageManager().setPage(ref, world.getStore(), Page.None);
+        }
+    }
+
+    /**
+     * Sends an admin edit through the add form or a delete button.
+     *
+     * @param page the open menu
+     */
+    private void sendEdit(SwapServerPage page) {
+        stats.get().edits.increment();
+        if (!addedServers.isEmpty() && random.nextBoolean()) {
+            String name = addedServers.remove(random.nextInt(addedServers.size()));
+            dispatch(page, Map.of("DeleteServerName", name));
+            return;
+        }
+        String name = "Sim-Edit-" + username + "-" + random.nextInt(1_000_000);
+        addedServers.add(name);
+        String address = "10.200." + random.nextInt(256) + "." + random.nextInt(256) + ":5520";
+        dispatch(page, Map.of("@NewServerName", name, "@NewServerIp", address));
+    }
+
+    /**
+     * Decodes an event payload with the page's codec and hands it to the page.
+     *
+     * @param page the open menu
+     * @param payload event data as the client sends it
+     */
+    private void dispatch(SwapServerPage page, Map<String, String> payload) {
+        long startNanos = System.nanoTime();
+        page.handleDataEvent(ref, world.getStore(), SwapServerPage.SwapServerPageEventData.CODEC.decode(payload));
+        LoadSimStats current = stats.get();
+        current.eventLatency.record(System.nanoTime() - startNanos);
+        current.events.increment();
+    }
+
+    /**
+     * Returns the menu if it is the open page.
+     *
+     * @return the open menu, or null if none is open
+     */
+    private SwapServerPage openPage() {
+        InteractiveCustomUIPage<?> page = player.getPageManager().getCustomPage();
+        return page instanceof SwapServerPage swapServerPage ? swapServerPage : null;
+    }
+
+    /**
+     * Publishes the packet counts for the report thread.
+     */
+    private void publishPacketCounts() {
+        PacketHandler handler = playerRef.getPacketHandler();
+        synchronized (handler) {
+            pageUpdates = retiredPageUpdates + handler.customPageUpdates;
+            packets = retiredPackets + handler.written;
+        }
+    }
+}
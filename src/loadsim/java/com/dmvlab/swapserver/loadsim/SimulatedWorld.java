@@ -0,0 +1,194 @@
+package com.dmvlab.swapserver.loadsim;
+
+import com.dmvlab.swapserver.metrics.LatencyHistogram;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A world with its own world thread. Tasks run one at a time in submission order, the way the server
+ * runs them; the time each task waits in the queue and the time the thread spends running tasks are
+ * measured.
+ */
+final class SimulatedWorld extends World {
+    private static final Runnable STOP = () -> { };
+
+    private final String name;
+    private final BlockingQueue<QueuedTask> queue = new LinkedBlockingQueue<>();
+    private final Store<EntityStore> store;
+    private final Thread thread;
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile LatencyHistogram queueWait = new LatencyHistogram();
+    private volatile boolean stopped;
+
+    /**
+     * Creates a world and starts its world thread.
+     *
+     * @param name name of the world thread
+     */
+    SimulatedWorld(String name) {
+        this.name = name;
+        this.store = new Store<>(new EntityStore(this));
+        this.thread = new Thread(this::runLoop, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a task on the world thread.
+     *
+     * @param task task to run
+     * @throws RejectedExecutionException if the world was stopped
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (stopped) {
+            throw new RejectedExecutionException("World " + name + " is stopped");
+        }
+        queue.add(new QueuedTask(task, System.nanoTime()));
+    }
+
+    /**
+     * Returns the entity store of this world.
+     *
+     * @return the store
+     */
+    Store<EntityStore> getStore() {
+        return store;
+    }
+
+    /**
+     * Returns the name of the world thread.
+     *
+     * @return the thread name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the total time the world thread spent running tasks.
+     *
+     * @return busy time in nanoseconds
+     */
+    long getBusyNanos() {
+        return busyNanos.get();
+    }
+
+    /**
+     * Returns how many tasks the world thread ran.
+     *
+     * @return the task count
+     */
+    long getTaskCount() {
+        return tasks.get();
+    }
+
+    /**
+     * Returns how many tasks threw an exception.
+     *
+     * @return the failure count
+     */
+    long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Returns the number of tasks waiting to run.
+     *
+     * @return the queue length
+     */
+    int getQueueLength() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the bytes allocated by the world thread so far.
+     *
+     * @return allocated bytes, or -1 if the JVM does not measure them
+     */
+    long getAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(thread.threadId());
+        }
+        return -1L;
+    }
+
+    /**
+     * Returns how long tasks waited in the queue before running.
+     *
+     * @return the queue wait histogram
+     */
+    LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * Starts a new queue wait histogram, dropping what was measured during warm-up.
+     */
+    void resetQueueWait() {
+        queueWait = new LatencyHistogram();
+    }
+
+    /**
+     * Stops taking tasks, lets the queued ones finish and waits for the world thread to end.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void stop() throws InterruptedException {
+        stopped = true;
+        queue.add(new QueuedTask(STOP, System.nanoTime()));
+        thread.join();
+    }
+
+    /**
+     * Runs queued tasks until the stop marker is reached. A failing task is reported and does not stop
+     * the world.
+     */
+    private void runLoop() {
+        while (true) {
+            QueuedTask next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next.task == STOP) {
+                return;
+            }
+            long startNanos = System.nanoTime();
+            queueWait.record(startNanos - next.queuedAtNanos);
+            try {
+                next.task.run();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                System.err.println("World task failed on " + name);
+                e.printStackTrace();
+            }
+            busyNanos.addAndGet(System.nanoTime() - startNanos);
+            tasks.incrementAndGet();
+        }
+    }
+
+    /**
+     * A task and the time it was queued.
+     */
+    private static final class QueuedTask {
+        private final Runnable task;
+        private final long queuedAtNanos;
+
+        private QueuedTask(Runnable task, long queuedAtNanos) {
+            this.task = task;
+            this.queuedAtNanos = queuedAtNanos;
+        }
+    }
+}
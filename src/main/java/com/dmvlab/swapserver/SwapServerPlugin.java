@@ -1,18 +1,45 @@
 package com.dmvlab.swapserver;
 
 import com.dmvlab.swapserver.commands.SwsCommand;
+import com.dmvlab.swapserver.config.SwapServerConfig;
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.health.SwapServerQueryResponder;
 import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.i18n.TranslationDelivery;
+import com.dmvlab.swapserver.manager.JsonFileRegistryBackend;
 import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.manager.ServerRegistryBackend;
+import com.dmvlab.swapserver.manager.SqliteRegistryBackend;
+import com.dmvlab.swapserver.manager.StorageMode;
+import com.dmvlab.swapserver.metrics.MetricsReporter;
+import com.dmvlab.swapserver.routing.TransferAdmissionController;
+import com.dmvlab.swapserver.routing.TransferRouter;
+import com.dmvlab.swapserver.ui.SwapServerPageOpener;
 
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 public class SwapServerPlugin extends JavaPlugin {
+    private static final String DATA_DIRECTORY_PROPERTY = "swapserver.dataDirectory";
+    private static final String DEFAULT_DATA_DIRECTORY = "mods/Swap_Server/data";
+
+    private ServerListManager serverManager;
+    private HostResolver hostResolver;
+    private ServerHealthProber healthProber;
+    private SwapServerQueryResponder queryResponder;
+    private TransferAdmissionController admissionController;
+    private TransferRouter transferRouter;
+    private MetricsReporter metricsReporter;
+    private SwapServerPageOpener pageOpener;
+
     /**
      * Creates the plugin instance with the provided init context.
      *
@@ -23,24 +50,133 @@ public class SwapServerPlugin extends JavaPlugin {
     }
 
     /**
-     * Initializes managers, registers commands, and logs startup.
+     * Initializes managers, registers commands, and logs startup. The server list is read in the
+     * background; {@code /sws} shows a loading page until it is ready.
      */
     @Override
     protected void start() {
-        Path dataDirectory = Paths.get("mods/Swap_Server/data");
-        ServerListManager serverManager = new ServerListManager(dataDirectory);
+        Path dataDirectory = resolveDataDirectory();
+        SwapServerConfig config = SwapServerConfig.load(dataDirectory);
+        // Loaded in the background once every listener is registered, so a large list does not delay start.
+        serverManager = new ServerListManager(createRegistryBackend(config, dataDirectory), false);
+        I18nManager.preloadBundledLocales();
+        hostResolver = new HostResolver();
+        serverManager.addListener(hostResolver);
+        healthProber = new ServerHealthProber(serverManager, hostResolver, config.getQueryPort());
+        healthProber.start();
+        if (config.getQueryPort() > 0) {
+            queryResponder = new SwapServerQueryResponder(config.getQueryPort(), config.getCapacity());
+            queryResponder.start();
+        }
+        admissionController = new TransferAdmissionController();
+        admissionController.start();
+        metricsReporter = new MetricsReporter(dataDirectory);
+        metricsReporter.start();
 
-        getCommandRegistry().registerCommand(new SwsCommand(serverManager));
+        TranslationDelivery translationDelivery = new TranslationDelivery();
+
+        SwapServerServices services = new SwapServerServices(serverManager, hostResolver, healthProber,
+                translationDelivery, admissionController);
+
+        transferRouter = services.getTransferRouter();
+        pageOpener = new SwapServerPageOpener(services);
+        getCommandRegistry().registerCommand(new SwsCommand(pageOpener, serverManager, dataDirectory));
+        serverManager.loadInBackground().whenComplete((ignored, error) -> {
+            if (error != null) {
+                System.err.println("Swap_Server could not load the server list; changes are disabled until restart");
+            } else {
+                System.out.println("Swap_Server loaded " + serverManager.getServerList().size() + " servers");
+            }
+        });
+        serverManager.startWatching();
 
         getEventRegistry().register(PlayerConnectEvent.class, event -> {
             PlayerRef playerRef = event.getPlayerRef();
-            if (playerRef == null) {
+            if (playerRef == null || playerRef.getUuid() == null) {
+                return;
+            }
+            translationDelivery.forget(playerRef);
+            if (queryResponder != null) {
+                queryResponder.playerConnected(playerRef.getUuid());
+            }
+        });
+        getEventRegistry().register(PlayerDisconnectEvent.class, event -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            if (playerRef == null || playerRef.getUuid() == null) {
                 return;
             }
-            I18nManager i18nManager = new I18nManager(playerRef.getLanguage());
-            i18nManager.sendTo(playerRef);
+            translationDelivery.forget(playerRef);
+            services.getPageRegistry().forget(playerRef);
+            if (queryResponder != null) {
+                queryResponder.playerDisconnected(playerRef.getUuid());
+            }
         });
 
         System.out.println("Swap_Server enabled!");
     }
+
+    /**
+     * Returns the plugin data folder: the {@value #DATA_DIRECTORY_PROPERTY} system property if set,
+     * otherwise {@value #DEFAULT_DATA_DIRECTORY} under the server's working directory.
+     *
+     * @return the data folder
+     */
+    private static Path resolveDataDirectory() {
+        String configured = System.getProperty(DATA_DIRECTORY_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            try {
+                return Paths.get(configured.trim());
+            } catch (InvalidPathException e) {
+                System.err.println("Ignoring invalid " + DATA_DIRECTORY_PROPERTY + ": " + e.getMessage());
+            }
+        }
+        return Paths.get(DEFAULT_DATA_DIRECTORY);
+    }
+
+    /**
+     * Creates the storage backend selected in config.json.
+     *
+     * @param config the loaded plugin configuration
+     * @param dataDirectory the plugin data folder
+     * @return the backend for the server list
+     */
+    private static ServerRegistryBackend createRegistryBackend(SwapServerConfig config, Path dataDirectory) {
+        if (config.getStorageMode() == StorageMode.SQLITE) {
+            return new SqliteRegistryBackend(config.getDatabaseFile(dataDirectory),
+                    dataDirectory.resolve("servers.json"), config.getPollIntervalMillis());
+        }
+        return new JsonFileRegistryBackend(dataDirectory, config.getStorageMode());
+    }
+
+    /**
+     * Stops background probing, population queries, host resolution, routing and admission, writes final
+     * metrics, and flushes pending server list changes before the plugin is disabled.
+     */
+    @Override
+    protected void shutdown() {
+        if (pageOpener != null) {
+            pageOpener.close();
+        }
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
+        if (queryResponder != null) {
+            queryResponder.close();
+        }
+        if (transferRouter != null) {
+            transferRouter.close();
+        }
+        if (admissionController != null) {
+            admissionController.close();
+        }
+        if (healthProber != null) {
+            healthProber.close();
+        }
+        if (hostResolver != null) {
+            hostResolver.close();
+        }
+        if (serverManager != null) {
+            serverManager.shutdown();
+        }
+    }
 }
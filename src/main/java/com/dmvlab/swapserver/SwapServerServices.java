@@ -0,0 +1,129 @@
+package com.dmvlab.swapserver;
+
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.i18n.TranslationDelivery;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.routing.EndpointSelector;
+import com.dmvlab.swapserver.routing.TransferAdmissionController;
+import com.dmvlab.swapserver.routing.TransferRouter;
+import com.dmvlab.swapserver.ui.ServerListRenderCache;
+import com.dmvlab.swapserver.ui.SwapServerPageRegistry;
+
+public class SwapServerServices {
+    private final ServerListManager serverManager;
+    private final HostResolver hostResolver;
+    private final ServerHealthProber healthProber;
+    private final TranslationDelivery translationDelivery;
+    private final EndpointSelector endpointSelector;
+    private final TransferAdmissionController admissionController;
+    private final TransferRouter transferRouter;
+    private final ServerListRenderCache renderCache;
+    private final SwapServerPageRegistry pageRegistry;
+
+    /**
+     * Wires the shared services used by the command and the UI pages.
+     *
+     * @param serverManager manager for the server list
+     * @param hostResolver cache of resolved server hosts
+     * @param healthProber source of cached server statuses
+     * @param translationDelivery tracker for translations already sent to players
+     * @param admissionController rate limiter and queue for transfers
+     */
+    public SwapServerServices(ServerListManager serverManager, HostResolver hostResolver,
+            ServerHealthProber healthProber, TranslationDelivery translationDelivery,
+            TransferAdmissionController admissionController) {
+        this.serverManager = serverManager;
+        this.hostResolver = hostResolver;
+        this.healthProber = healthProber;
+        this.translationDelivery = translationDelivery;
+        this.admissionController = admissionController;
+        this.endpointSelector = new EndpointSelector(healthProber);
+        this.transferRouter = new TransferRouter(serverManager, healthProber);
+        this.renderCache = new ServerListRenderCache(healthProber);
+        this.pageRegistry = new SwapServerPageRegistry();
+        serverManager.addListener(pageRegistry);
+        healthProber.addStatusListener(pageRegistry::onStatusesChanged);
+    }
+
+    /**
+     * Returns the server list manager.
+     *
+     * @return the server list manager
+     */
+    public ServerListManager getServerManager() {
+        return serverManager;
+    }
+
+    /**
+     * Returns the cache of resolved server hosts.
+     *
+     * @return the host resolver
+     */
+    public HostResolver getHostResolver() {
+        return hostResolver;
+    }
+
+    /**
+     * Returns the background health prober.
+     *
+     * @return the health prober
+     */
+    public ServerHealthProber getHealthProber() {
+        return healthProber;
+    }
+
+    /**
+     * Returns the per-player translation tracker.
+     *
+     * @return the translation delivery tracker
+     */
+    public TranslationDelivery getTranslationDelivery() {
+        return translationDelivery;
+    }
+
+    /**
+     * Returns the selector that picks an endpoint of a group on join.
+     *
+     * @return the endpoint selector
+     */
+    public EndpointSelector getEndpointSelector() {
+        return endpointSelector;
+    }
+
+    /**
+     * Returns the rate limiter and queue for transfers.
+     *
+     * @return the admission controller
+     */
+    public TransferAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Returns the router that checks a target and its fallbacks before a transfer.
+     *
+     * @return the transfer router
+     */
+    public TransferRouter getTransferRouter() {
+        return transferRouter;
+    }
+
+    /**
+     * Returns the shared cache of rendered server lists.
+     *
+     * @return the render cache
+     */
+    public ServerListRenderCache getRenderCache() {
+        return renderCache;
+    }
+
+    /**
+     * Returns the registry of open pages.
+     *
+     * @return the page registry
+     */
+    public SwapServerPageRegistry getPageRegistry() {
+        return pageRegistry;
+    }
+}
@@ -0,0 +1,80 @@
+package com.dmvlab.swapserver.commands;
+
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.List;
+import java.util.function.Function;
+
+final class CommandMessages {
+    private CommandMessages() {}
+
+    /**
+     * Sends one translated message to the command sender.
+     *
+     * @param context command context provided by the server
+     * @param key translation key
+     * @param args optional arguments for the translation
+     */
+    static void send(CommandContext context, String key, Object... args) {
+        sendLines(context, i18n -> List.of(i18n.translate(key, args)));
+    }
+
+    /**
+     * Sends lines built in the sender's language. A player's language is read on their world thread, so
+     * the lines arrive from there; the console and players whose world is gone get the default locale.
+     *
+     * @param context command context provided by the server
+     * @param lines builds the lines to send from the sender's translations
+     */
+    static void sendLines(CommandContext context, Function<I18nManager, List<String>> lines) {
+        CommandSender sender = context.sender();
+        Ref<EntityStore> entityRef = context.isPlayer() ? context.senderAsPlayerRef() : null;
+        World world = entityRef != null && entityRef.isValid() ? worldOf(entityRef.getStore()) : null;
+        if (world != null) {
+            Store<EntityStore> store = entityRef.getStore();
+            try {
+                world.execute(() -> {
+                    PlayerRef playerRef = entityRef.isValid()
+                            ? store.getComponent(entityRef, PlayerRef.getComponentType()) : null;
+                    send(sender, I18nManager.forLocale(playerRef != null ? playerRef.getLanguage() : null), lines);
+                });
+                return;
+            } catch (RuntimeException e) {
+                // World already stopped; answer in the default locale below.
+            }
+        }
+        send(sender, I18nManager.forLocale(I18nManager.DEFAULT_LOCALE), lines);
+    }
+
+    /**
+     * Sends each built line as its own message.
+     *
+     * @param sender command sender
+     * @param i18n translations of the sender's language
+     * @param lines builds the lines to send
+     */
+    private static void send(CommandSender sender, I18nManager i18n, Function<I18nManager, List<String>> lines) {
+        for (String line : lines.apply(i18n)) {
+            sender.sendMessage(Message.raw(line));
+        }
+    }
+
+    /**
+     * Returns the world that owns an entity store.
+     *
+     * @param store entity component store
+     * @return the owning world, or null if it is not available
+     */
+    private static World worldOf(Store<EntityStore> store) {
+        EntityStore entityStore = store.getExternalData();
+        return entityStore != null ? entityStore.getWorld() : null;
+    }
+}
@@ -1,29 +1,33 @@
 package com.dmvlab.swapserver.commands;
 
 import com.dmvlab.swapserver.manager.ServerListManager;
-import com.dmvlab.swapserver.ui.SwapServerPage;
+import com.dmvlab.swapserver.ui.SwapServerPageOpener;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
-import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.dmvlab.swapserver.i18n.I18nManager;
+
+import java.nio.file.Path;
 
 public class SwsCommand extends CommandBase {
-    private final ServerListManager serverManager;
+    private final SwapServerPageOpener pageOpener;
 
     /**
      * Creates the command handler with its dependencies.
      *
-     * @param serverManager manager for the server list
+     * @param pageOpener opener that prepares the page off the world thread
+     * @param serverManager manager used by the import and export subcommands
+     * @param dataDirectory folder that import and export files are resolved against
      */
-    public SwsCommand(ServerListManager serverManager) {
+    public SwsCommand(SwapServerPageOpener pageOpener, ServerListManager serverManager, Path dataDirectory) {
         super("sws", "swapserver.commands.sws.desc");
-        this.serverManager = serverManager;
+        this.pageOpener = pageOpener;
+        addSubCommand(new SwsStatsCommand());
+        addSubCommand(new SwsImportCommand(serverManager, dataDirectory));
+        addSubCommand(new SwsExportCommand(serverManager, dataDirectory));
     }
 
     /**
@@ -51,7 +55,7 @@ public class SwsCommand extends CommandBase {
     }
 
     /**
-     * Resolves the player entity and opens the SwapServer UI on the world thread.
+     * Resolves the player entity and hands it to the page opener.
      *
      * @param context command context provided by the server
      */
@@ -72,30 +76,6 @@ public class SwsCommand extends CommandBase {
             return;
         }
 
-        world.execute(() -> {
-            if (!entityRef.isValid()) {
-                return;
-            }
-
-            Player player = store.getComponent(entityRef, Player.getComponentType());
-            if (player == null) {
-                return;
-            }
-
-            if (player.getPageManager().getCustomPage() != null) {
-                return;
-            }
-
-            PlayerRef playerRef = store.getComponent(entityRef, PlayerRef.getComponentType());
-            if (playerRef == null) {
-                return;
-            }
-
-            I18nManager i18nManager = new I18nManager(playerRef.getLanguage());
-            i18nManager.sendTo(playerRef);
-
-            player.getPageManager().openCustomPage(entityRef, store,
-                    new SwapServerPage(playerRef, serverManager, i18nManager));
-        });
+        pageOpener.open(entityRef, store, world);
     }
 }
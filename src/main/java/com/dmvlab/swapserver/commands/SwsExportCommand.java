@@ -0,0 +1,83 @@
+package com.dmvlab.swapserver.commands;
+
+import com.dmvlab.swapserver.manager.ServerListFiles;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class SwsExportCommand extends CommandBase {
+    /** Subfolder of the data folder that exports are written to, so they can never replace plugin files. */
+    private static final String EXPORT_FOLDER = "exports";
+
+    private final ServerListManager serverManager;
+    private final Path exportDirectory;
+    private final RequiredArg<String> fileArg;
+
+    /**
+     * Creates the export subcommand.
+     *
+     * @param serverManager manager whose list is exported
+     * @param dataDirectory plugin data folder; files are written to its exports subfolder
+     */
+    public SwsExportCommand(ServerListManager serverManager, Path dataDirectory) {
+        super("export", "swapserver.commands.sws.export.desc");
+        this.serverManager = serverManager;
+        this.exportDirectory = dataDirectory.resolve(EXPORT_FOLDER);
+        this.fileArg = withRequiredArg("file", "swapserver.commands.sws.export.file", ArgTypes.STRING);
+    }
+
+    /**
+     * Disables automatic permission generation; access is checked against swapserver.admin.
+     *
+     * @return false to prevent permission creation
+     */
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    /**
+     * Writes the current server list to a file in the exports folder.
+     *
+     * @param context command context provided by the server
+     */
+    @Override
+    protected void executeSync(CommandContext context) {
+        if (!context.sender().hasPermission("swapserver.admin")) {
+            CommandMessages.send(context, "export_no_permission");
+            return;
+        }
+        if (serverManager.hasFailed()) {
+            CommandMessages.send(context, "command_load_failed");
+            return;
+        }
+        if (!serverManager.isReady()) {
+            CommandMessages.send(context, "command_loading");
+            return;
+        }
+        Path file = SwsImportCommand.resolveDataFile(exportDirectory, context.get(fileArg));
+        if (file == null) {
+            CommandMessages.send(context, "export_invalid_file", context.get(fileArg));
+            return;
+        }
+
+        List<ServerEntry> entries = serverManager.getSnapshot().getEntries();
+        try {
+            Files.createDirectories(file.getParent());
+            ServerListFiles.write(file, entries);
+        } catch (IOException e) {
+            CommandMessages.send(context, "export_write_failed", file.getFileName(), e.getMessage());
+            return;
+        }
+        CommandMessages.send(context, "export_done", entries.size(),
+                EXPORT_FOLDER + "/" + exportDirectory.toAbsolutePath().normalize().relativize(file));
+    }
+}
@@ -0,0 +1,97 @@
+package com.dmvlab.swapserver.commands;
+
+import com.dmvlab.swapserver.manager.ServerListBatch;
+import com.dmvlab.swapserver.manager.ServerListDiff;
+import com.dmvlab.swapserver.manager.ServerListFiles;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SwsImportCommand extends CommandBase {
+    private final ServerListManager serverManager;
+    private final Path dataDirectory;
+    private final RequiredArg<String> fileArg;
+
+    /**
+     * Creates the import subcommand.
+     *
+     * @param serverManager manager receiving the imported entries
+     * @param dataDirectory folder that import files are read from
+     */
+    public SwsImportCommand(ServerListManager serverManager, Path dataDirectory) {
+        super("import", "swapserver.commands.sws.import.desc");
+        this.serverManager = serverManager;
+        this.dataDirectory = dataDirectory;
+        this.fileArg = withRequiredArg("file", "swapserver.commands.sws.import.file", ArgTypes.STRING);
+    }
+
+    /**
+     * Disables automatic permission generation; access is checked against swapserver.admin.
+     *
+     * @return false to prevent permission creation
+     */
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    /**
+     * Adds or replaces every server listed in the file as a single change.
+     *
+     * @param context command context provided by the server
+     */
+    @Override
+    protected void executeSync(CommandContext context) {
+        if (!context.sender().hasPermission("swapserver.admin")) {
+            CommandMessages.send(context, "import_no_permission");
+            return;
+        }
+        if (serverManager.hasFailed()) {
+            CommandMessages.send(context, "command_load_failed");
+            return;
+        }
+        if (!serverManager.isReady()) {
+            CommandMessages.send(context, "command_loading");
+            return;
+        }
+        Path file = resolveDataFile(dataDirectory, context.get(fileArg));
+        if (file == null || !Files.isRegularFile(file)) {
+            CommandMessages.send(context, "import_file_not_found", context.get(fileArg));
+            return;
+        }
+
+        ServerListBatch batch = new ServerListBatch();
+        int skipped;
+        try {
+            skipped = ServerListFiles.readInto(file, batch);
+        } catch (IOException e) {
+            CommandMessages.send(context, "import_read_failed", file.getFileName(), e.getMessage());
+            return;
+        }
+        ServerListDiff diff = serverManager.applyBatch(batch);
+        CommandMessages.send(context, "import_done", batch.size(), diff.getAdded().size(), diff.getChanged().size(),
+                skipped);
+    }
+
+    /**
+     * Resolves a file name against a folder, refusing paths that leave it.
+     *
+     * @param dataDirectory the folder the file must be in
+     * @param name file name typed by the admin
+     * @return the resolved file, or null if it is outside the folder
+     */
+    static Path resolveDataFile(Path dataDirectory, String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        Path root = dataDirectory.toAbsolutePath().normalize();
+        Path file = root.resolve(name.trim()).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.dmvlab.swapserver.commands;
+
+import com.dmvlab.swapserver.metrics.MetricsReporter;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
+
+public class SwsStatsCommand extends CommandBase {
+
+    /**
+     * Creates the stats subcommand.
+     */
+    public SwsStatsCommand() {
+        super("stats", "swapserver.commands.sws.stats.desc");
+    }
+
+    /**
+     * Disables automatic permission generation; access is checked against swapserver.admin.
+     *
+     * @return false to prevent permission creation
+     */
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    /**
+     * Prints hot-path latency statistics to admins.
+     *
+     * @param context command context provided by the server
+     */
+    @Override
+    protected void executeSync(CommandContext context) {
+        if (!context.sender().hasPermission("swapserver.admin")) {
+            CommandMessages.send(context, "stats_no_permission");
+            return;
+        }
+        CommandMessages.sendLines(context, MetricsReporter::describe);
+    }
+}
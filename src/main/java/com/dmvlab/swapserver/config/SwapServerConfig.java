@@ -0,0 +1,101 @@
+package com.dmvlab.swapserver.config;
+
+import com.dmvlab.swapserver.manager.StorageMode;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SwapServerConfig {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final long MIN_POLL_INTERVAL_MILLIS = 250L;
+
+    private String storage = StorageMode.JSON.getId();
+    private String databaseFile = "servers.db";
+    private long pollIntervalMillis = 2000L;
+    private int queryPort = 5521;
+    private int capacity;
+
+    /**
+     * Reads config.json from the data folder, writing the defaults if it does not exist yet.
+     * An unreadable file falls back to the defaults without overwriting it.
+     *
+     * @param dataFolder folder that holds config.json
+     * @return the loaded configuration
+     */
+    public static SwapServerConfig load(Path dataFolder) {
+        Path configFile = dataFolder.resolve("config.json");
+        SwapServerConfig config = null;
+        try {
+            if (Files.exists(configFile)) {
+                try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                    config = GSON.fromJson(reader, SwapServerConfig.class);
+                }
+            } else {
+                config = new SwapServerConfig();
+                Files.createDirectories(dataFolder);
+                try (Writer writer = Files.newBufferedWriter(configFile, StandardCharsets.UTF_8)) {
+                    GSON.toJson(config, writer);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Could not read config.json, using defaults: " + e.getMessage());
+        }
+        return config != null ? config : new SwapServerConfig();
+    }
+
+    /**
+     * Returns how the server list is written to disk.
+     *
+     * @return the configured storage mode, {@link StorageMode#JSON} by default
+     */
+    public StorageMode getStorageMode() {
+        return StorageMode.fromId(storage);
+    }
+
+    /**
+     * Resolves the SQLite file used by the sqlite storage mode. Relative paths are resolved against the
+     * data folder; point every node at the same absolute path to share one list.
+     *
+     * @param dataFolder the plugin data folder
+     * @return the database file
+     */
+    public Path getDatabaseFile(Path dataFolder) {
+        String file = databaseFile == null || databaseFile.isBlank() ? "servers.db" : databaseFile;
+        return dataFolder.resolve(file);
+    }
+
+    /**
+     * Returns how often the sqlite storage mode checks for changes made by other nodes.
+     *
+     * @return the poll interval in milliseconds
+     */
+    public long getPollIntervalMillis() {
+        return Math.max(MIN_POLL_INTERVAL_MILLIS, pollIntervalMillis);
+    }
+
+    /**
+     * Returns the UDP port used to answer and send population queries.
+     *
+     * @return the query port, or 0 if population queries are disabled
+     */
+    public int getQueryPort() {
+        return queryPort > 0 && queryPort <= 65535 ? queryPort : 0;
+    }
+
+    /**
+     * Returns the player capacity this node reports to other nodes.
+     *
+     * @return the capacity, or 0 for no limit
+     */
+    public int getCapacity() {
+        return Math.max(0, capacity);
+    }
+}
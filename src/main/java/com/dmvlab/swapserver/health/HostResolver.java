@@ -0,0 +1,247 @@
+package com.dmvlab.swapserver.health;
+
+import com.dmvlab.swapserver.manager.ServerListListener;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cache of resolved server hosts. Lookups run on virtual threads; callers on the world thread only
+ * ever read the cache. A failed refresh keeps the last good address.
+ */
+public class HostResolver implements ServerListListener {
+    private static final long DEFAULT_TTL_MILLIS = 60_000L;
+    private static final long FAILURE_RETRY_MILLIS = 10_000L;
+
+    private final long ttlMillis;
+    private final Map<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Resolution>> lookups = new ConcurrentHashMap<>();
+    private final ExecutorService lookupExecutor;
+
+    /**
+     * Creates a resolver with the default one-minute TTL.
+     */
+    public HostResolver() {
+        this(DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a resolver with a custom TTL.
+     *
+     * @param ttlMillis how long a successful lookup is reused before it is refreshed
+     */
+    public HostResolver(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.lookupExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("SwapServer-Resolve-", 0).factory());
+    }
+
+    /**
+     * Returns the cached resolution without blocking, and starts a background lookup if the host is
+     * new or its entry expired.
+     *
+     * @param host host name or IP literal
+     * @return the cached resolution, or null if the host was never looked up
+     */
+    public Resolution getCached(String host) {
+        if (host == null) {
+            return null;
+        }
+        Resolution resolution = resolutions.get(hostKey(host));
+        if (resolution == null || isExpired(resolution, System.currentTimeMillis())) {
+            lookup(host);
+        }
+        return resolution;
+    }
+
+    /**
+     * Returns the host's address for a transfer. Uses the cached address if there is one and the host
+     * name otherwise, so the caller never waits on DNS.
+     *
+     * @param host host name or IP literal
+     * @return an IP literal if resolved, otherwise the host as given
+     */
+    public String addressFor(String host) {
+        Resolution resolution = getCached(host);
+        return resolution != null && resolution.hasAddress() ? resolution.getAddress().getHostAddress() : host;
+    }
+
+    /**
+     * Returns a fresh resolution, looking the host up if needed. Blocks for at most the timeout, so only
+     * call it from a background or virtual thread. A lookup that takes longer keeps running and fills
+     * the cache when it ends.
+     *
+     * @param host host name or IP literal
+     * @param timeoutMillis maximum wait for the lookup
+     * @return the current resolution, or null if the lookup did not finish in time
+     */
+    public Resolution resolve(String host, long timeoutMillis) {
+        Resolution resolution = resolutions.get(hostKey(host));
+        if (resolution != null && !isExpired(resolution, System.currentTimeMillis())) {
+            return resolution;
+        }
+        try {
+            return lookup(host).get(Math.max(timeoutMillis, 0L), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Resolves hosts of newly added entries right away and forgets hosts no longer in the list.
+     *
+     * @param previous snapshot before the change
+     * @param current snapshot after the change
+     */
+    @Override
+    public void onServerListChanged(ServerRegistrySnapshot previous, ServerRegistrySnapshot current) {
+        Set<String> liveKeys = new HashSet<>();
+        for (ServerEntry entry : current.getEntries()) {
+            for (ServerEndpoint endpoint : entry.getEndpoints()) {
+                if (endpoint.getIp() != null && liveKeys.add(hostKey(endpoint.getIp()))) {
+                    getCached(endpoint.getIp());
+                }
+            }
+        }
+        resolutions.keySet().retainAll(liveKeys);
+    }
+
+    /**
+     * Stops any lookup still running.
+     */
+    public void close() {
+        lookupExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts a lookup unless one is already running for the host.
+     *
+     * @param host host name or IP literal
+     * @return a future completed with the new resolution
+     */
+    private CompletableFuture<Resolution> lookup(String host) {
+        String key = hostKey(host);
+        return lookups.computeIfAbsent(key, ignored -> {
+            CompletableFuture<Resolution> future = new CompletableFuture<>();
+            try {
+                lookupExecutor.execute(() -> {
+                    Resolution resolution = runLookup(key, host);
+                    lookups.remove(key, future);
+                    future.complete(resolution);
+                });
+            } catch (RejectedExecutionException e) {
+                Resolution previous = resolutions.get(key);
+                future.complete(previous != null ? previous : new Resolution(null, 1, System.currentTimeMillis()));
+            }
+            return future;
+        });
+    }
+
+    /**
+     * Resolves a host and records the result, keeping the previous address on failure.
+     *
+     * @param key cache key of the host
+     * @param host host name or IP literal
+     * @return the recorded resolution
+     */
+    private Resolution runLookup(String key, String host) {
+        Resolution previous = resolutions.get(key);
+        Resolution next;
+        try {
+            next = new Resolution(InetAddress.getByName(host), 0, System.currentTimeMillis());
+        } catch (UnknownHostException | SecurityException e) {
+            InetAddress lastGood = previous != null ? previous.getAddress() : null;
+            int failures = previous != null ? previous.getConsecutiveFailures() + 1 : 1;
+            next = new Resolution(lastGood, failures, System.currentTimeMillis());
+        }
+        resolutions.put(key, next);
+        return next;
+    }
+
+    private boolean isExpired(Resolution resolution, long now) {
+        long maxAge = resolution.getConsecutiveFailures() > 0 ? FAILURE_RETRY_MILLIS : ttlMillis;
+        return now - resolution.getCheckedAtMillis() >= maxAge;
+    }
+
+    private static String hostKey(String host) {
+        return host.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Result of the latest lookup of a host.
+     */
+    public static final class Resolution {
+        private final InetAddress address;
+        private final int consecutiveFailures;
+        private final long checkedAtMillis;
+
+        private Resolution(InetAddress address, int consecutiveFailures, long checkedAtMillis) {
+            this.address = address;
+            this.consecutiveFailures = consecutiveFailures;
+            this.checkedAtMillis = checkedAtMillis;
+        }
+
+        /**
+         * Returns the last address the host resolved to.
+         *
+         * @return the address, or null if the host never resolved
+         */
+        public InetAddress getAddress() {
+            return address;
+        }
+
+        /**
+         * Checks whether an address is known, possibly from an earlier successful lookup.
+         *
+         * @return true if the host can be reached by address
+         */
+        public boolean hasAddress() {
+            return address != null;
+        }
+
+        /**
+         * Checks whether the host failed to resolve and no earlier address is available.
+         *
+         * @return true if the host cannot be used
+         */
+        public boolean isUnresolvable() {
+            return address == null && consecutiveFailures > 0;
+        }
+
+        /**
+         * Returns the number of failed lookups in a row.
+         *
+         * @return the failure streak
+         */
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        /**
+         * Returns when the lookup ran.
+         *
+         * @return the lookup time in epoch milliseconds
+         */
+        public long getCheckedAtMillis() {
+            return checkedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dmvlab.swapserver.health;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface PopulationQuery {
+    /**
+     * Asks a server how many players it has and how many it accepts.
+     *
+     * @param host server host or IP address
+     * @param port port the server answers population queries on
+     * @param timeoutMillis maximum time to wait for an answer
+     * @return the reported population
+     * @throws IOException if the server did not answer in time or sent an invalid reply
+     */
+    ServerPopulation query(String host, int port, int timeoutMillis) throws IOException;
+}
@@ -0,0 +1,64 @@
+package com.dmvlab.swapserver.health;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class QuicVersionProbe implements ServerProbe {
+    private static final int MIN_INITIAL_SIZE = 1200;
+    private static final int RESERVED_VERSION = 0x1a2a3a4a;
+    private static final int CONNECTION_ID_LENGTH = 8;
+
+    /**
+     * Sends a QUIC long-header packet with a reserved version. A QUIC server answers it with a
+     * Version Negotiation packet without allocating any connection state, which makes it a cheap
+     * liveness and latency check for Hytale servers.
+     *
+     * @param host server host or IP address
+     * @param port server UDP port
+     * @param timeoutMillis maximum time to wait for an answer
+     * @return the round-trip time in nanoseconds
+     * @throws IOException if the server did not answer in time
+     */
+    @Override
+    public long probe(String host, int port, int timeoutMillis) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            throw new IOException("Unresolved host: " + host);
+        }
+        byte[] request = buildRequest();
+        byte[] response = new byte[1500];
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(timeoutMillis);
+            socket.connect(address);
+            long start = System.nanoTime();
+            socket.send(new DatagramPacket(request, request.length));
+            DatagramPacket reply = new DatagramPacket(response, response.length);
+            socket.receive(reply);
+            return System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Builds a padded QUIC Initial-sized packet advertising a reserved version.
+     *
+     * @return the datagram payload
+     */
+    private static byte[] buildRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] packet = new byte[MIN_INITIAL_SIZE];
+        random.nextBytes(packet);
+        int offset = 0;
+        packet[offset++] = (byte) (0xC0 | (packet[0] & 0x3F));
+        packet[offset++] = (byte) (RESERVED_VERSION >>> 24);
+        packet[offset++] = (byte) (RESERVED_VERSION >>> 16);
+        packet[offset++] = (byte) (RESERVED_VERSION >>> 8);
+        packet[offset++] = (byte) RESERVED_VERSION;
+        packet[offset] = CONNECTION_ID_LENGTH;
+        offset += 1 + CONNECTION_ID_LENGTH;
+        packet[offset] = CONNECTION_ID_LENGTH;
+        return packet;
+    }
+}
@@ -0,0 +1,444 @@
+package com.dmvlab.swapserver.health;
+
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ServerHealthProber {
+    private static final long DEFAULT_INTERVAL_MILLIS = 10_000L;
+    private static final int DEFAULT_TIMEOUT_MILLIS = 1_000;
+    private static final int DEFAULT_MAX_CONCURRENT_PROBES = 32;
+    private static final long MAX_BACKOFF_MILLIS = 300_000L;
+    private static final long POPULATION_TTL_MILLIS = 30_000L;
+    private static final long PREFLIGHT_FRESH_MILLIS = 3_000L;
+
+    private final ServerListManager serverManager;
+    private final HostResolver hostResolver;
+    private final ServerProbe probe;
+    private final PopulationQuery populationQuery;
+    private final int defaultQueryPort;
+    private final long intervalMillis;
+    private final int timeoutMillis;
+    private final Semaphore probePermits;
+    private final Map<String, ServerStatus> statuses = new ConcurrentHashMap<>();
+    private final Map<String, ServerPopulation> populations = new ConcurrentHashMap<>();
+    private final AtomicReference<PopulationOrder> populationOrder = new AtomicReference<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong statusVersion = new AtomicLong();
+    private final List<Runnable> statusListeners = new CopyOnWriteArrayList<>();
+    private long notifiedStatusVersion;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService probeExecutor;
+
+    /**
+     * Creates a prober with the default schedule and the QUIC version probe.
+     *
+     * @param serverManager registry whose entries are probed
+     * @param hostResolver cache used to resolve host names before probing
+     */
+    public ServerHealthProber(ServerListManager serverManager, HostResolver hostResolver) {
+        this(serverManager, hostResolver, 0);
+    }
+
+    /**
+     * Creates a prober with the default schedule that also asks online servers for their population.
+     *
+     * @param serverManager registry whose entries are probed
+     * @param hostResolver cache used to resolve host names before probing
+     * @param queryPort population query port of entries that do not set one, or 0 to only query those that do
+     */
+    public ServerHealthProber(ServerListManager serverManager, HostResolver hostResolver, int queryPort) {
+        this(serverManager, hostResolver, new QuicVersionProbe(), new SwapServerQuery(), queryPort,
+                DEFAULT_INTERVAL_MILLIS, DEFAULT_TIMEOUT_MILLIS, DEFAULT_MAX_CONCURRENT_PROBES);
+    }
+
+    /**
+     * Creates a prober with a custom probe and schedule.
+     *
+     * @param serverManager registry whose entries are probed
+     * @param hostResolver cache used to resolve host names before probing
+     * @param probe probe used to reach each server
+     * @param populationQuery query used to read player counts, or null to skip them
+     * @param queryPort population query port of entries that do not set one, or 0 to only query those that do
+     * @param intervalMillis delay between probe rounds
+     * @param timeoutMillis maximum wait for a single probe
+     * @param maxConcurrentProbes maximum number of probes running at once
+     */
+    public ServerHealthProber(ServerListManager serverManager, HostResolver hostResolver, ServerProbe probe,
+            PopulationQuery populationQuery, int queryPort, long intervalMillis, int timeoutMillis,
+            int maxConcurrentProbes) {
+        this.serverManager = serverManager;
+        this.hostResolver = hostResolver;
+        this.probe = probe;
+        this.populationQuery = populationQuery;
+        this.defaultQueryPort = queryPort;
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.probePermits = new Semaphore(maxConcurrentProbes);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.probeExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("SwapServer-Probe-", 0).factory());
+    }
+
+    /**
+     * Starts the periodic probe rounds.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::probeRound, 0L, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the probe rounds and any probe still running.
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the cached status of a server without doing any I/O.
+     * A group is online with its lowest RTT if any endpoint is online, and offline only if all are.
+     *
+     * @param entry server entry to look up
+     * @return the last known status, or {@link ServerStatus#UNKNOWN}
+     */
+    public ServerStatus getStatus(ServerEntry entry) {
+        if (entry == null) {
+            return ServerStatus.UNKNOWN;
+        }
+        if (!entry.isGroup()) {
+            return getStatus(entry.getIp(), entry.getPort());
+        }
+        ServerStatus best = null;
+        for (ServerEndpoint endpoint : entry.getEndpoints()) {
+            ServerStatus status = getStatus(endpoint);
+            if (best == null || rank(status) < rank(best)
+                    || (status.isOnline() && best.isOnline() && status.getRttMillis() < best.getRttMillis())) {
+                best = status;
+            }
+        }
+        return best != null ? best : ServerStatus.UNKNOWN;
+    }
+
+    /**
+     * Returns the cached status of a single endpoint without doing any I/O.
+     *
+     * @param endpoint endpoint to look up
+     * @return the last known status, or {@link ServerStatus#UNKNOWN}
+     */
+    public ServerStatus getStatus(ServerEndpoint endpoint) {
+        return endpoint != null ? getStatus(endpoint.getIp(), endpoint.getPort()) : ServerStatus.UNKNOWN;
+    }
+
+    private ServerStatus getStatus(String host, int port) {
+        ServerStatus status = statuses.get(endpointKey(host, port));
+        return status != null ? status : ServerStatus.UNKNOWN;
+    }
+
+    /**
+     * Returns the cached population of a server without doing any I/O.
+     * A group reports the sum over its endpoints that answered.
+     *
+     * @param entry server entry to look up
+     * @return the last known population, or {@link ServerPopulation#UNKNOWN}
+     */
+    public ServerPopulation getPopulation(ServerEntry entry) {
+        if (entry == null) {
+            return ServerPopulation.UNKNOWN;
+        }
+        if (!entry.isGroup()) {
+            ServerPopulation population = populations.get(endpointKey(entry.getIp(), entry.getPort()));
+            return population != null ? population : ServerPopulation.UNKNOWN;
+        }
+        int players = 0;
+        int capacity = 0;
+        long checkedAtMillis = 0L;
+        boolean known = false;
+        for (ServerEndpoint endpoint : entry.getEndpoints()) {
+            ServerPopulation population = populations.get(endpointKey(endpoint.getIp(), endpoint.getPort()));
+            if (population != null) {
+                players += population.getPlayers();
+                capacity += population.getCapacity();
+                checkedAtMillis = Math.max(checkedAtMillis, population.getCheckedAtMillis());
+                known = true;
+            }
+        }
+        return known ? new ServerPopulation(players, capacity, checkedAtMillis) : ServerPopulation.UNKNOWN;
+    }
+
+    /**
+     * Returns the snapshot's entry indexes ordered by population, most players first. Entries with an
+     * unknown population come last in list order. The order is computed once per registry and status version.
+     *
+     * @param snapshot registry snapshot to order
+     * @return entry indexes in population order
+     */
+    public int[] getPopulationOrder(ServerRegistrySnapshot snapshot) {
+        long statusVersion = getStatusVersion();
+        PopulationOrder cached = populationOrder.get();
+        if (cached != null && cached.version == snapshot.getVersion() && cached.statusVersion == statusVersion) {
+            return cached.order;
+        }
+        List<ServerEntry> entries = snapshot.getEntries();
+        int[] players = new int[entries.size()];
+        Integer[] indexes = new Integer[entries.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            players[i] = getPopulation(entries.get(i)).getPlayers();
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> Integer.compare(players[b], players[a]));
+        int[] order = new int[indexes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = indexes[i];
+        }
+        populationOrder.set(new PopulationOrder(snapshot.getVersion(), statusVersion, order));
+        return order;
+    }
+
+    private static int rank(ServerStatus status) {
+        return status.isOnline() ? 0 : status.isOffline() ? 2 : 1;
+    }
+
+    /**
+     * Returns a counter incremented whenever a displayed status changes.
+     *
+     * @return the status version
+     */
+    public long getStatusVersion() {
+        return statusVersion.get();
+    }
+
+    /**
+     * Registers a callback run on the prober thread once per round in which a displayed status or
+     * population changed, so views can refresh without polling.
+     *
+     * @param listener callback to run
+     */
+    public void addStatusListener(Runnable listener) {
+        statusListeners.add(listener);
+    }
+
+    /**
+     * Starts a probe for every endpoint that is due and drops statuses of removed entries and
+     * populations older than their TTL, then tells status listeners about changes since the last round.
+     */
+    private void probeRound() {
+        long now = System.currentTimeMillis();
+        Set<String> liveKeys = new HashSet<>();
+        for (ServerEntry entry : serverManager.getServerList()) {
+            int queryPort = entry.getQueryPort() > 0 ? entry.getQueryPort() : defaultQueryPort;
+            for (ServerEndpoint endpoint : entry.getEndpoints()) {
+                if (endpoint.getIp() == null) {
+                    continue;
+                }
+                String host = endpoint.getIp();
+                int port = endpoint.getPort();
+                String key = endpointKey(host, port);
+                if (!liveKeys.add(key) || !isDue(statuses.get(key), now) || !inFlight.add(key)) {
+                    continue;
+                }
+                try {
+                    probeExecutor.execute(() -> runProbe(key, host, port, queryPort));
+                } catch (RuntimeException e) {
+                    inFlight.remove(key);
+                    return;
+                }
+            }
+        }
+        boolean changed = statuses.keySet().retainAll(liveKeys);
+        changed |= populations.keySet().retainAll(liveKeys);
+        changed |= populations.values().removeIf(population -> now - population.getCheckedAtMillis()
+                >= POPULATION_TTL_MILLIS);
+        if (changed) {
+            statusVersion.incrementAndGet();
+        }
+        notifyStatusListeners();
+    }
+
+    /**
+     * Runs the status listeners if the status version moved since they last ran.
+     */
+    private void notifyStatusListeners() {
+        long version = statusVersion.get();
+        if (version == notifiedStatusVersion) {
+            return;
+        }
+        notifiedStatusVersion = version;
+        for (Runnable listener : statusListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Probes a single endpoint and records the result. Online servers are then asked for their population.
+     *
+     * @param key endpoint key
+     * @param host server host
+     * @param port server port
+     * @param queryPort population query port, or 0 to skip the query
+     */
+    private void runProbe(String key, String host, int port, int queryPort) {
+        try {
+            probePermits.acquire();
+        } catch (InterruptedException e) {
+            inFlight.remove(key);
+            return;
+        }
+        ServerStatus previous = statuses.get(key);
+        ServerStatus next;
+        ServerPopulation population = null;
+        try {
+            next = check(host, port, timeoutMillis, previous);
+            if (next != null && next.isOnline()) {
+                population = queryPopulation(hostResolver.addressFor(host), queryPort);
+            }
+        } finally {
+            probePermits.release();
+            inFlight.remove(key);
+        }
+        if (next == null) {
+            // The host lookup is still running; the next round probes the address it caches.
+            return;
+        }
+        statuses.put(key, next);
+        boolean changed = !next.looksLike(previous);
+        if (population != null) {
+            changed |= !population.looksLike(populations.put(key, population));
+        }
+        if (changed) {
+            statusVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks an endpoint right before a transfer. A status measured within the last few seconds is
+     * reused; otherwise the endpoint is probed on the calling thread and the result is recorded.
+     * Blocks for at most the timeout, host lookup included, so only call it from a background or
+     * virtual thread.
+     *
+     * @param endpoint endpoint to check
+     * @param timeoutMillis maximum wait for the lookup and the probe together
+     * @return the fresh status, or {@link ServerStatus#UNKNOWN} if the host lookup did not finish in time
+     */
+    public ServerStatus preflight(ServerEndpoint endpoint, int timeoutMillis) {
+        String key = endpointKey(endpoint.getIp(), endpoint.getPort());
+        ServerStatus previous = statuses.get(key);
+        if (previous != null && System.currentTimeMillis() - previous.getCheckedAtMillis() < PREFLIGHT_FRESH_MILLIS) {
+            return previous;
+        }
+        ServerStatus next = check(endpoint.getIp(), endpoint.getPort(), timeoutMillis, previous);
+        if (next == null) {
+            return ServerStatus.UNKNOWN;
+        }
+        statuses.put(key, next);
+        if (!next.looksLike(previous)) {
+            statusVersion.incrementAndGet();
+        }
+        return next;
+    }
+
+    /**
+     * Resolves and probes an endpoint. A host that fails to resolve but has an earlier address is
+     * probed at that address.
+     *
+     * @param host server host
+     * @param port server port
+     * @param timeoutMillis maximum wait for the lookup and the probe together
+     * @param previous last known status, or null
+     * @return the new status, or null if the host lookup did not finish in time
+     */
+    private ServerStatus check(String host, int port, int timeoutMillis, ServerStatus previous) {
+        int failures = previous != null ? previous.getConsecutiveFailures() + 1 : 1;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            HostResolver.Resolution resolution = hostResolver.resolve(host, timeoutMillis);
+            if (resolution == null) {
+                return null;
+            }
+            if (!resolution.hasAddress()) {
+                return new ServerStatus(ServerStatus.State.UNRESOLVED, -1L, failures, System.currentTimeMillis());
+            }
+            int remaining = (int) Math.max(1L, deadline - System.currentTimeMillis());
+            long rttNanos = probe.probe(resolution.getAddress().getHostAddress(), port, remaining);
+            return new ServerStatus(ServerStatus.State.ONLINE, TimeUnit.NANOSECONDS.toMillis(rttNanos), 0,
+                    System.currentTimeMillis());
+        } catch (IOException | RuntimeException e) {
+            return new ServerStatus(ServerStatus.State.OFFLINE, -1L, failures, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Asks an online server for its population. A failed query keeps the previous result until it expires.
+     *
+     * @param address resolved server address
+     * @param queryPort population query port, or 0 to skip the query
+     * @return the population, or null if it was not queried or did not answer
+     */
+    private ServerPopulation queryPopulation(String address, int queryPort) {
+        if (populationQuery == null || queryPort <= 0) {
+            return null;
+        }
+        try {
+            return populationQuery.query(address, queryPort, timeoutMillis);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decides whether an endpoint should be probed this round, backing off on repeated failures.
+     *
+     * @param status last known status, or null
+     * @param now current time in epoch milliseconds
+     * @return true if a probe should start
+     */
+    private boolean isDue(ServerStatus status, long now) {
+        if (status == null || status.getConsecutiveFailures() <= 1) {
+            return true;
+        }
+        int exponent = Math.min(status.getConsecutiveFailures() - 1, 16);
+        long backoff = Math.min(intervalMillis << exponent, MAX_BACKOFF_MILLIS);
+        return now - status.getCheckedAtMillis() >= backoff;
+    }
+
+    private static String endpointKey(String host, int port) {
+        return host + ":" + port;
+    }
+
+    private static final class PopulationOrder {
+        private final long version;
+        private final long statusVersion;
+        private final int[] order;
+
+        private PopulationOrder(long version, long statusVersion, int[] order) {
+            this.version = version;
+            this.statusVersion = statusVersion;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.dmvlab.swapserver.health;
+
+public final class ServerPopulation {
+    public static final ServerPopulation UNKNOWN = new ServerPopulation(-1, 0, 0L);
+
+    private final int players;
+    private final int capacity;
+    private final long checkedAtMillis;
+
+    /**
+     * Creates an immutable population result.
+     *
+     * @param players players currently online, or -1 if unknown
+     * @param capacity maximum number of players, or 0 if the server reports no limit
+     * @param checkedAtMillis wall-clock time of the query
+     */
+    public ServerPopulation(int players, int capacity, long checkedAtMillis) {
+        this.players = players;
+        this.capacity = capacity;
+        this.checkedAtMillis = checkedAtMillis;
+    }
+
+    /**
+     * Checks whether the player count is known.
+     *
+     * @return true if a query answered recently
+     */
+    public boolean isKnown() {
+        return players >= 0;
+    }
+
+    /**
+     * Returns the number of players online.
+     *
+     * @return the player count, or -1 if unknown
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the maximum number of players.
+     *
+     * @return the capacity, or 0 if the server reports no limit
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns when the query ran.
+     *
+     * @return the query time in epoch milliseconds
+     */
+    public long getCheckedAtMillis() {
+        return checkedAtMillis;
+    }
+
+    /**
+     * Checks whether two results would be displayed the same way.
+     *
+     * @param other result to compare with
+     * @return true if players and capacity match
+     */
+    boolean looksLike(ServerPopulation other) {
+        return other != null && players == other.players && capacity == other.capacity;
+    }
+}
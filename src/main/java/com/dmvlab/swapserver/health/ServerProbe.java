@@ -0,0 +1,17 @@
+package com.dmvlab.swapserver.health;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ServerProbe {
+    /**
+     * Checks whether a server answers and measures the round trip.
+     *
+     * @param host server host or IP address
+     * @param port server port
+     * @param timeoutMillis maximum time to wait for an answer
+     * @return the round-trip time in nanoseconds
+     * @throws IOException if the server did not answer in time
+     */
+    long probe(String host, int port, int timeoutMillis) throws IOException;
+}
@@ -0,0 +1,117 @@
+package com.dmvlab.swapserver.health;
+
+public final class ServerStatus {
+    public static final ServerStatus UNKNOWN = new ServerStatus(State.UNKNOWN, -1L, 0, 0L);
+
+    public enum State {
+        UNKNOWN,
+        ONLINE,
+        OFFLINE,
+        UNRESOLVED
+    }
+
+    private final State state;
+    private final long rttMillis;
+    private final int consecutiveFailures;
+    private final long checkedAtMillis;
+
+    /**
+     * Creates an immutable probe result.
+     *
+     * @param state reachability state
+     * @param rttMillis measured round-trip time, or -1 if unavailable
+     * @param consecutiveFailures number of failed probes in a row
+     * @param checkedAtMillis wall-clock time of the probe
+     */
+    public ServerStatus(State state, long rttMillis, int consecutiveFailures, long checkedAtMillis) {
+        this.state = state;
+        this.rttMillis = rttMillis;
+        this.consecutiveFailures = consecutiveFailures;
+        this.checkedAtMillis = checkedAtMillis;
+    }
+
+    /**
+     * Returns the reachability state.
+     *
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether the last probe reached the server.
+     *
+     * @return true if the server answered
+     */
+    public boolean isOnline() {
+        return state == State.ONLINE;
+    }
+
+    /**
+     * Checks whether the last probe failed.
+     *
+     * @return true if the server did not answer or its host does not resolve
+     */
+    public boolean isOffline() {
+        return state == State.OFFLINE || state == State.UNRESOLVED;
+    }
+
+    /**
+     * Checks whether the server's host name failed to resolve and no earlier address is known.
+     *
+     * @return true if the host is unresolvable
+     */
+    public boolean isUnresolved() {
+        return state == State.UNRESOLVED;
+    }
+
+    /**
+     * Returns the measured round-trip time.
+     *
+     * @return the RTT in milliseconds, or -1 if unavailable
+     */
+    public long getRttMillis() {
+        return rttMillis;
+    }
+
+    /**
+     * Returns the number of failed probes in a row.
+     *
+     * @return the failure streak
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Returns when the probe ran.
+     *
+     * @return the probe time in epoch milliseconds
+     */
+    public long getCheckedAtMillis() {
+        return checkedAtMillis;
+    }
+
+    /**
+     * Checks whether two statuses would be displayed the same way.
+     *
+     * @param other status to compare with
+     * @return true if state and rounded RTT match
+     */
+    boolean looksLike(ServerStatus other) {
+        return other != null && state == other.state && displayRttMillis() == other.displayRttMillis();
+    }
+
+    /**
+     * Returns the RTT rounded to the precision shown in the UI.
+     *
+     * @return the rounded RTT in milliseconds, or -1 if unavailable
+     */
+    public long displayRttMillis() {
+        if (rttMillis < 0) {
+            return -1L;
+        }
+        return Math.max(1L, Math.round(rttMillis / 10.0) * 10L);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dmvlab.swapserver.health;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Population query spoken between Swap_Server nodes over UDP.
+ * A request is {@link #MAGIC}, {@link #VERSION}, an 8-byte token and zero padding up to
+ * {@link #REQUEST_SIZE} bytes. The reply is the magic, version and token followed by the player
+ * count and capacity as 4-byte big-endian integers. Requests are larger than replies so the
+ * responder cannot be used to amplify traffic.
+ */
+public class SwapServerQuery implements PopulationQuery {
+    static final int MAGIC = 0x53575351;
+    static final byte VERSION = 1;
+    static final int REQUEST_SIZE = 32;
+    static final int RESPONSE_SIZE = 4 + 1 + 8 + 4 + 4;
+
+    /**
+     * Sends a population request and waits for the matching reply.
+     *
+     * @param host server host or IP address
+     * @param port server query port
+     * @param timeoutMillis maximum time to wait for an answer
+     * @return the reported population
+     * @throws IOException if the server did not answer in time or sent an invalid reply
+     */
+    @Override
+    public ServerPopulation query(String host, int port, int timeoutMillis) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            throw new IOException("Unresolved host: " + host);
+        }
+        long token = ThreadLocalRandom.current().nextLong();
+        ByteBuffer request = ByteBuffer.allocate(REQUEST_SIZE);
+        request.putInt(MAGIC).put(VERSION).putLong(token);
+        byte[] response = new byte[RESPONSE_SIZE];
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(timeoutMillis);
+            socket.connect(address);
+            socket.send(new DatagramPacket(request.array(), REQUEST_SIZE));
+            DatagramPacket reply = new DatagramPacket(response, response.length);
+            socket.receive(reply);
+            ByteBuffer buffer = ByteBuffer.wrap(response, 0, reply.getLength());
+            if (reply.getLength() != RESPONSE_SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION
+                    || buffer.getLong() != token) {
+                throw new IOException("Invalid population reply from " + host + ":" + port);
+            }
+            int players = buffer.getInt();
+            int capacity = buffer.getInt();
+            return new ServerPopulation(Math.max(0, players), Math.max(0, capacity), System.currentTimeMillis());
+        }
+    }
+}
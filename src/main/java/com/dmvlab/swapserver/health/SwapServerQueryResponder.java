@@ -0,0 +1,113 @@
+package com.dmvlab.swapserver.health;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers {@link SwapServerQuery} requests for this node, so other Swap_Server nodes can show its population.
+ */
+public class SwapServerQueryResponder {
+    private final int port;
+    private final int capacity;
+    private final Set<UUID> connectedPlayers = ConcurrentHashMap.newKeySet();
+    private volatile DatagramSocket socket;
+
+    /**
+     * Creates a responder for the given port.
+     *
+     * @param port UDP port to answer on
+     * @param capacity capacity reported to other nodes, or 0 for no limit
+     */
+    public SwapServerQueryResponder(int port, int capacity) {
+        this.port = port;
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Binds the port and starts answering on a virtual thread.
+     */
+    public void start() {
+        try {
+            socket = new DatagramSocket(port);
+        } catch (SocketException e) {
+            System.err.println("Could not open population query port " + port + ": " + e.getMessage());
+            return;
+        }
+        Thread.ofVirtual().name("SwapServer-Query").start(this::serve);
+    }
+
+    /**
+     * Counts a player as online.
+     *
+     * @param playerId the connected player
+     */
+    public void playerConnected(UUID playerId) {
+        if (playerId != null) {
+            connectedPlayers.add(playerId);
+        }
+    }
+
+    /**
+     * Stops counting a player as online.
+     *
+     * @param playerId the disconnected player
+     */
+    public void playerDisconnected(UUID playerId) {
+        if (playerId != null) {
+            connectedPlayers.remove(playerId);
+        }
+    }
+
+    /**
+     * Returns the number of players currently counted on this node.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return connectedPlayers.size();
+    }
+
+    /**
+     * Closes the port and stops answering.
+     */
+    public void close() {
+        DatagramSocket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Answers every well-formed request until the socket is closed. Other datagrams are ignored.
+     */
+    private void serve() {
+        DatagramSocket current = socket;
+        byte[] buffer = new byte[SwapServerQuery.REQUEST_SIZE];
+        while (!current.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                current.receive(packet);
+                ByteBuffer request = ByteBuffer.wrap(buffer, 0, packet.getLength());
+                if (packet.getLength() < SwapServerQuery.REQUEST_SIZE || request.getInt() != SwapServerQuery.MAGIC
+                        || request.get() != SwapServerQuery.VERSION) {
+                    continue;
+                }
+                long token = request.getLong();
+                ByteBuffer response = ByteBuffer.allocate(SwapServerQuery.RESPONSE_SIZE);
+                response.putInt(SwapServerQuery.MAGIC).put(SwapServerQuery.VERSION).putLong(token)
+                        .putInt(getPlayerCount()).putInt(capacity);
+                current.send(new DatagramPacket(response.array(), response.capacity(), packet.getSocketAddress()));
+            } catch (IOException e) {
+                if (!current.isClosed()) {
+                    System.err.println("Population query failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,59 +1,126 @@
 package com.dmvlab.swapserver.i18n;
 
+import com.dmvlab.swapserver.metrics.PluginTimer;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.hypixel.hytale.protocol.UpdateType;
 import com.hypixel.hytale.protocol.packets.assets.UpdateTranslations;
-import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class I18nManager {
     public static final String DEFAULT_LOCALE = "en_US";
+    private static final String[] BUNDLED_LOCALES = { "en_US", "fr_FR" };
+    private static final Gson GSON = new Gson();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
+    private static final Map<String, I18nManager> LOADED_LOCALES = new ConcurrentHashMap<>();
+    private static final Map<String, I18nManager> REQUESTED_LOCALES = new ConcurrentHashMap<>();
+    private static final int MAX_REQUESTED_LOCALES = 256;
+
+    private final String locale;
     private final Map<String, String> translations;
+    private final Map<String, MessageTemplate> templates;
+    private final Map<I18nManager, UpdateTranslations> deltaPackets = new ConcurrentHashMap<>();
+    private volatile UpdateTranslations fullPacket;
+
+    /**
+     * Creates the shared instance for a locale from its parsed translations. A value that is not a valid
+     * MessageFormat pattern is logged and left out, so its key is shown like a missing translation instead
+     * of failing the whole locale.
+     *
+     * @param locale resolved locale code such as "en_US" or "fr_FR"
+     * @param translations translation map loaded from the language file
+     */
+    private I18nManager(String locale, Map<String, String> translations) {
+        Map<String, MessageTemplate> compiled = new HashMap<>(Math.max(16, translations.size() * 2));
+        for (Map.Entry<String, String> entry : translations.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            try {
+                compiled.put(entry.getKey(), new MessageTemplate(entry.getValue()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipped invalid translation " + entry.getKey() + " in " + locale + ": "
+                        + e.getMessage());
+            }
+        }
+        this.locale = locale;
+        this.translations = Collections.unmodifiableMap(new HashMap<>(translations));
+        this.templates = Collections.unmodifiableMap(compiled);
+    }
 
     /**
-     * Loads the translation map for the requested locale.
+     * Returns the shared translation manager for the requested locale.
+     * Language files are read at most once per process.
      *
      * @param locale locale code such as "en_US" or "fr_FR"
+     * @return the manager for the locale, or the default locale if it is not bundled
      */
-    public I18nManager(String locale) {
-        Map<String, String> loaded = new HashMap<>();
-        String resolvedLocale = resolveLocale(locale);
+    public static I18nManager forLocale(String locale) {
+        String normalized = normalizeLocale(locale);
+        String requested = normalized == null || normalized.isEmpty() ? DEFAULT_LOCALE : normalized;
+        I18nManager cached = REQUESTED_LOCALES.get(requested);
+        if (cached != null) {
+            return cached;
+        }
+        String resolvedLocale = resolveLocale(requested);
+        I18nManager manager = LOADED_LOCALES.computeIfAbsent(resolvedLocale, I18nManager::load);
+        if (REQUESTED_LOCALES.size() < MAX_REQUESTED_LOCALES) {
+            REQUESTED_LOCALES.putIfAbsent(requested, manager);
+        }
+        return manager;
+    }
+
+    /**
+     * Loads every bundled language file in parallel so player logins never touch the classpath.
+     */
+    public static void preloadBundledLocales() {
+        Arrays.stream(BUNDLED_LOCALES).parallel().forEach(I18nManager::forLocale);
+    }
+
+    /**
+     * Reads and compiles the language file for a resolved locale.
+     *
+     * @param resolvedLocale locale code whose file should be read
+     * @return a new manager, empty if the file could not be read
+     */
+    private static I18nManager load(String resolvedLocale) {
+        long startNanos = System.nanoTime();
+        Map<String, String> loaded = null;
         String resourcePath = "/lang/" + resolvedLocale + ".json";
-        InputStream stream = getClass().getResourceAsStream(resourcePath);
+        InputStream stream = I18nManager.class.getResourceAsStream(resourcePath);
         if (stream != null) {
             try (InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
-                Type mapType = new TypeToken<Map<String, String>>() {}.getType();
-                loaded = new Gson().fromJson(reader, mapType);
+                loaded = GSON.fromJson(reader, MAP_TYPE);
             } catch (Exception e) {
-                System.err.println("Could not load language file: " + locale);
+                System.err.println("Could not load language file: " + resolvedLocale);
                 e.printStackTrace();
             }
         } else {
-            System.err.println("Could not find language file: " + locale);
+            System.err.println("Could not find language file: " + resolvedLocale);
         }
-        this.translations = loaded != null ? loaded : new HashMap<>();
+        I18nManager manager = new I18nManager(resolvedLocale, loaded != null ? loaded : Collections.emptyMap());
+        PluginTimer.I18N_LOAD.record(startNanos);
+        return manager;
     }
 
     /**
-     * Normalizes and resolves the locale to an existing language file.
+     * Resolves a normalized locale to an existing language file.
      *
-     * @param locale locale code requested by the player
+     * @param normalized normalized locale code requested by the player
      * @return a locale string that should exist in resources
      */
-    private static String resolveLocale(String locale) {
-        String normalized = normalizeLocale(locale);
-        if (normalized == null || normalized.isEmpty()) {
-            return DEFAULT_LOCALE;
-        }
-        if (languageFileExists(normalized)) {
+    private static String resolveLocale(String normalized) {
+        if (LOADED_LOCALES.containsKey(normalized) || languageFileExists(normalized)) {
             return normalized;
         }
         if (!DEFAULT_LOCALE.equals(normalized) && languageFileExists(DEFAULT_LOCALE)) {
@@ -102,29 +169,64 @@ public class I18nManager {
      * @return the translated and formatted string
      */
     public String translate(String key, Object... args) {
-        String message = translations.getOrDefault(key, key);
-        return MessageFormat.format(message, args);
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            return MessageFormat.format(key, args);
+        }
+        return template.format(args);
+    }
+
+    /**
+     * Returns the locale whose language file backs this manager.
+     *
+     * @return the resolved locale code
+     */
+    public String getLocale() {
+        return locale;
     }
 
     /**
-     * Returns a copy of the loaded translation map.
+     * Returns the shared packet carrying every translation of this locale.
      *
-     * @return a map of translation keys to localized strings
+     * @return the packet, or null if there is nothing to send
      */
-    public Map<String, String> getTranslations() {
-        return new HashMap<>(translations);
+    UpdateTranslations getFullPacket() {
+        if (translations.isEmpty()) {
+            return null;
+        }
+        UpdateTranslations packet = fullPacket;
+        if (packet == null) {
+            packet = new UpdateTranslations(UpdateType.AddOrUpdate, new HashMap<>(translations));
+            fullPacket = packet;
+        }
+        return packet;
     }
 
     /**
-     * Sends the translations to a player so the client can resolve keys.
+     * Returns the shared packet that turns a client holding another locale into this one.
+     * Only keys whose value differs are included.
      *
-     * @param playerRef the player to update
+     * @param previous manager whose translations the client already has
+     * @return the delta packet, or null if the client is already up to date
      */
-    public void sendTo(PlayerRef playerRef) {
-        if (playerRef == null || translations.isEmpty()) {
-            return;
+    UpdateTranslations getDeltaPacket(I18nManager previous) {
+        if (previous == this) {
+            return null;
+        }
+        UpdateTranslations packet = deltaPackets.get(previous);
+        if (packet == null) {
+            Map<String, String> delta = new HashMap<>();
+            for (Map.Entry<String, String> entry : translations.entrySet()) {
+                if (!entry.getValue().equals(previous.translations.get(entry.getKey()))) {
+                    delta.put(entry.getKey(), entry.getValue());
+                }
+            }
+            if (delta.isEmpty()) {
+                return null;
+            }
+            packet = new UpdateTranslations(UpdateType.AddOrUpdate, delta);
+            deltaPackets.putIfAbsent(previous, packet);
         }
-        playerRef.getPacketHandler().writeNoCache(
-                new UpdateTranslations(UpdateType.AddOrUpdate, new HashMap<>(translations)));
+        return packet;
     }
 }
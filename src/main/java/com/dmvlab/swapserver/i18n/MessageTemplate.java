@@ -0,0 +1,111 @@
+package com.dmvlab.swapserver.i18n;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+final class MessageTemplate {
+    private final String pattern;
+    private final String literal;
+    private final String[] segments;
+    private final int[] argumentIndexes;
+    private final int literalLength;
+    private final MessageFormat fallbackFormat;
+
+    /**
+     * Compiles a translation pattern once so it can be formatted cheaply afterwards.
+     *
+     * @param pattern MessageFormat pattern from the language file
+     * @throws IllegalArgumentException if the pattern is not a valid MessageFormat pattern
+     */
+    MessageTemplate(String pattern) {
+        this.pattern = pattern;
+        this.fallbackFormat = new MessageFormat(pattern);
+        this.literal = fallbackFormat.format(new Object[0]);
+
+        List<String> parsedSegments = new ArrayList<>();
+        List<Integer> parsedIndexes = new ArrayList<>();
+        boolean simple = pattern.indexOf('\'') < 0;
+        int start = 0;
+        while (simple) {
+            int open = pattern.indexOf('{', start);
+            if (open < 0) {
+                parsedSegments.add(pattern.substring(start));
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                simple = false;
+                break;
+            }
+            try {
+                parsedIndexes.add(Integer.parseInt(pattern.substring(open + 1, close)));
+            } catch (NumberFormatException e) {
+                simple = false;
+                break;
+            }
+            parsedSegments.add(pattern.substring(start, open));
+            start = close + 1;
+        }
+
+        if (simple && !parsedIndexes.isEmpty()) {
+            this.segments = parsedSegments.toArray(new String[0]);
+            this.argumentIndexes = parsedIndexes.stream().mapToInt(Integer::intValue).toArray();
+            int length = 0;
+            for (String segment : segments) {
+                length += segment.length();
+            }
+            this.literalLength = length;
+        } else {
+            this.segments = null;
+            this.argumentIndexes = null;
+            this.literalLength = 0;
+        }
+    }
+
+    /**
+     * Formats the template with the given arguments, matching MessageFormat output.
+     *
+     * @param args arguments referenced by the pattern
+     * @return the formatted message
+     */
+    String format(Object... args) {
+        if (args == null || args.length == 0 || (segments == null && pattern.indexOf('{') < 0)) {
+            return literal;
+        }
+        if (segments == null || !hasPlainArguments(args)) {
+            synchronized (fallbackFormat) {
+                return fallbackFormat.format(args);
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + 16 * argumentIndexes.length);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            builder.append(segments[i]);
+            int argumentIndex = argumentIndexes[i];
+            if (argumentIndex < args.length) {
+                builder.append(args[argumentIndex]);
+            } else {
+                builder.append('{').append(argumentIndex).append('}');
+            }
+        }
+        builder.append(segments[argumentIndexes.length]);
+        return builder.toString();
+    }
+
+    /**
+     * Checks whether every argument renders the same with MessageFormat and String.valueOf.
+     *
+     * @param args arguments passed to {@link #format(Object...)}
+     * @return true if no locale-sensitive formatting is needed
+     */
+    private static boolean hasPlainArguments(Object[] args) {
+        for (Object arg : args) {
+            if (arg != null && !(arg instanceof CharSequence) && !(arg instanceof Character)
+                    && !(arg instanceof Boolean)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.dmvlab.swapserver.i18n;
+
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.hypixel.hytale.protocol.packets.assets.UpdateTranslations;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TranslationDelivery {
+    private final Map<UUID, I18nManager> deliveredLocales = new ConcurrentHashMap<>();
+
+    /**
+     * Sends the player whatever translations they are missing for the given locale.
+     * Nothing is sent if the player already received this locale during the session.
+     *
+     * @param playerRef the player to update
+     * @param i18nManager locale the player should be able to resolve
+     */
+    public void ensureDelivered(PlayerRef playerRef, I18nManager i18nManager) {
+        if (playerRef == null || i18nManager == null || playerRef.getUuid() == null) {
+            return;
+        }
+        I18nManager previous = deliveredLocales.put(playerRef.getUuid(), i18nManager);
+        if (previous == i18nManager) {
+            return;
+        }
+        UpdateTranslations packet = previous == null ? i18nManager.getFullPacket()
+                : i18nManager.getDeltaPacket(previous);
+        if (packet != null) {
+            long startNanos = System.nanoTime();
+            playerRef.getPacketHandler().writeNoCache(packet);
+            PluginTimer.TRANSLATION_SEND.record(startNanos);
+        }
+    }
+
+    /**
+     * Forgets what was sent to a player, so the next open sends the full set again.
+     *
+     * @param playerRef the player whose session started or ended
+     */
+    public void forget(PlayerRef playerRef) {
+        if (playerRef == null || playerRef.getUuid() == null) {
+            return;
+        }
+        deliveredLocales.remove(playerRef.getUuid());
+    }
+}
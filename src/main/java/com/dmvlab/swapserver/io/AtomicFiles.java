@@ -0,0 +1,74 @@
+package com.dmvlab.swapserver.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files through a temp file that is synced to disk and then renamed over the target, so a crash
+ * leaves either the old file or the complete new one, never a truncated one.
+ */
+public final class AtomicFiles {
+    private AtomicFiles() {}
+
+    /**
+     * Writes a file through {@code <file>.tmp}, syncs it and renames it over the target.
+     *
+     * @param file file to replace
+     * @param content writes the new content as UTF-8 text
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Content content) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            content.writeTo(out);
+        }
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Syncs a folder so a rename inside it survives a crash. Some platforms cannot open folders; the
+     * rename is then only as durable as the file system makes it.
+     *
+     * @param directory folder to sync
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported here, for example on Windows.
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * Writes the content. The writer is closed by the caller.
+         *
+         * @param out writer for the temp file
+         * @throws IOException if writing fails
+         */
+        void writeTo(Writer out) throws IOException;
+    }
+}
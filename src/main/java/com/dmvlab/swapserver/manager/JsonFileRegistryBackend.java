@@ -0,0 +1,251 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the server list in servers.json, either rewritten on every change or, in journal mode,
+ * as a compacted snapshot plus servers.journal. External edits of servers.json are hot-reloaded.
+ */
+public class JsonFileRegistryBackend implements ServerRegistryBackend {
+    private final Path dataFolder;
+    private final Path serversFile;
+    private final Path journalFile;
+    private final StorageMode storageMode;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private ServerListManager manager;
+    private ServerListPersister persister;
+    private ServerListWatcher watcher;
+    private ServerListJournal journal;
+    private boolean snapshotExists;
+    private boolean journalExists;
+
+    /**
+     * Creates a file backend for the given data folder.
+     *
+     * @param dataFolder folder where servers.json is stored
+     * @param storageMode {@link StorageMode#JSON} or {@link StorageMode#JOURNAL}
+     */
+    public JsonFileRegistryBackend(Path dataFolder, StorageMode storageMode) {
+        this.dataFolder = dataFolder;
+        this.serversFile = dataFolder.resolve("servers.json");
+        this.journalFile = dataFolder.resolve("servers.journal");
+        this.storageMode = storageMode;
+    }
+
+    /**
+     * Streams servers.json and, if present, replays servers.journal on top of it. Invalid entries are
+     * skipped; if the file is damaged, it is copied to servers.json.bad and the load fails.
+     *
+     * @param manager the registry this backend persists
+     * @return the stored entries
+     * @throws IOException if the files cannot be read or servers.json is damaged
+     */
+    @Override
+    public List<ServerEntry> load(ServerListManager manager) throws IOException {
+        this.manager = manager;
+        this.persister = new ServerListPersister(serversFile, gson, manager::getSnapshot);
+        this.watcher = new ServerListWatcher(serversFile, this::reloadFromDisk);
+        this.journal = storageMode == StorageMode.JOURNAL
+                ? new ServerListJournal(journalFile, persister, manager::getSnapshot, manager.getWriteLock())
+                : null;
+
+        if (!Files.exists(dataFolder)) {
+            Files.createDirectories(dataFolder);
+        }
+        snapshotExists = Files.exists(serversFile);
+        List<ServerEntry> entries = new ArrayList<>();
+        if (snapshotExists) {
+            try {
+                int skipped = ServerListFiles.read(serversFile, entries::add);
+                if (skipped > 0) {
+                    System.err.println("Skipped " + skipped + " invalid entries in servers.json");
+                }
+            } catch (IOException e) {
+                // Fail the load so the registry stays read-only and no save can replace the file with part of it.
+                Path backup = serversFile.resolveSibling("servers.json.bad");
+                Files.copy(serversFile, backup, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("servers.json is damaged, saved a copy as " + backup.getFileName() + ": "
+                        + e.getMessage());
+                throw e;
+            }
+        }
+        journalExists = Files.exists(journalFile);
+        if (journalExists) {
+            entries = ServerListJournal.replay(journalFile, entries);
+        }
+        return entries;
+    }
+
+    /**
+     * Opens the journal, or writes servers.json if it does not exist yet.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Override
+    public void open() throws IOException {
+        if (journal != null) {
+            journal.open();
+            if (!snapshotExists) {
+                persister.requestSave();
+            }
+        } else if (journalExists) {
+            // Switched back from journal mode: fold the journal into servers.json, then drop it.
+            persister.writeSnapshot(manager.getSnapshot());
+            Files.delete(journalFile);
+        } else if (!snapshotExists) {
+            persister.requestSave();
+        }
+    }
+
+    /**
+     * Appends the entry to the journal, or schedules a full save of servers.json.
+     *
+     * @param entry the added entry
+     */
+    @Override
+    public void saveAdded(ServerEntry entry) {
+        saveChange(ServerListJournal.OP_ADD, entry.getName(), entry);
+    }
+
+    /**
+     * Appends the removal to the journal, or schedules a full save of servers.json.
+     *
+     * @param name name of the removed entry
+     */
+    @Override
+    public void saveRemoved(String name) {
+        saveChange(ServerListJournal.OP_REMOVE, name, null);
+    }
+
+    /**
+     * Appends the batch to the journal, or schedules one full save of servers.json.
+     *
+     * @param diff the applied differences
+     */
+    @Override
+    public void saveBatch(ServerListDiff diff) {
+        if (journal != null) {
+            appendDiff(diff);
+        } else {
+            persister.requestSave();
+        }
+    }
+
+    /**
+     * Starts watching servers.json so external edits are applied without a restart.
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    @Override
+    public void startWatching() throws IOException {
+        watcher.start();
+    }
+
+    /**
+     * Stops the watcher and writes any pending changes to disk.
+     */
+    @Override
+    public void close() {
+        watcher.close();
+        if (journal != null) {
+            journal.close();
+        }
+        persister.close();
+    }
+
+    /**
+     * Stops the watcher and the writers without touching servers.json or the journal.
+     */
+    @Override
+    public void discard() {
+        watcher.close();
+        if (journal != null) {
+            journal.discard();
+        }
+        persister.discard();
+    }
+
+    /**
+     * Re-reads servers.json and applies only the entries that differ from memory.
+     * Files last written by this backend are ignored.
+     */
+    private void reloadFromDisk() {
+        List<ServerEntry> loaded;
+        // Hold the persister so it cannot replace the file between the check and the read; otherwise our own
+        // write, older than the registry by then, could be taken for an external edit and undo newer changes.
+        synchronized (persister) {
+            try {
+                if (!Files.exists(serversFile) || persister.isOwnWrite(Files.getLastModifiedTime(serversFile))) {
+                    return;
+                }
+                loaded = readServers();
+            } catch (IOException | JsonParseException e) {
+                System.err.println("Could not reload servers.json: " + e.getMessage());
+                return;
+            }
+        }
+
+        synchronized (manager.getWriteLock()) {
+            ServerListDiff diff = manager.applyLoaded(loaded, "servers.json");
+            if (diff != null && journal != null) {
+                // Journal the edit so older records cannot undo it after a crash, then fold it into a new snapshot.
+                appendDiff(diff);
+                journal.requestCompaction();
+            }
+        }
+    }
+
+    /**
+     * Appends one journal record per added, changed and removed entry. Callers must hold the write lock.
+     *
+     * @param diff the applied differences
+     */
+    private void appendDiff(ServerListDiff diff) {
+        for (ServerEntry entry : diff.getAdded()) {
+            journal.append(ServerListJournal.OP_ADD, entry.getName(), entry);
+        }
+        for (ServerEntry entry : diff.getChanged()) {
+            journal.append(ServerListJournal.OP_UPDATE, entry.getName(), entry);
+        }
+        for (ServerEntry entry : diff.getRemoved()) {
+            journal.append(ServerListJournal.OP_REMOVE, entry.getName(), null);
+        }
+    }
+
+    /**
+     * Reads servers.json one entry at a time, skipping invalid entries.
+     *
+     * @return the entries stored on disk
+     * @throws IOException if the file cannot be read or is not a complete JSON array
+     */
+    private List<ServerEntry> readServers() throws IOException {
+        List<ServerEntry> entries = new ArrayList<>();
+        ServerListFiles.read(serversFile, entries::add);
+        return entries;
+    }
+
+    /**
+     * Persists a single change: appended to the journal in journal mode, otherwise a full save.
+     *
+     * @param op journal operation describing the change
+     * @param name name of the affected server
+     * @param entry the new entry, or null for a removal
+     */
+    private void saveChange(String op, String name, ServerEntry entry) {
+        if (journal != null) {
+            journal.append(op, name, entry);
+        } else {
+            persister.requestSave();
+        }
+    }
+}
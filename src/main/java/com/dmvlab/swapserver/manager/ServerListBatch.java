@@ -0,0 +1,66 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Set of adds, replacements and removals applied to a {@link ServerListManager} in one step.
+ * A later change to the same name (case-insensitive) overrides an earlier one.
+ */
+public final class ServerListBatch {
+    private final Map<String, ServerEntry> changes = new LinkedHashMap<>();
+
+    /**
+     * Adds an entry, replacing any entry with the same name. Whitespace around the name is trimmed, as the
+     * add form does, so "Lobby " replaces "Lobby" instead of becoming a second entry.
+     *
+     * @param entry the entry to store; its name is trimmed in place
+     * @return true if the entry was queued, false if it has no name
+     */
+    public boolean put(ServerEntry entry) {
+        if (entry == null || entry.getName() == null || entry.getName().trim().isEmpty()) {
+            return false;
+        }
+        String name = entry.getName().trim();
+        if (!name.equals(entry.getName())) {
+            entry.setName(name);
+        }
+        changes.put(ServerRegistrySnapshot.nameKey(name), entry);
+        return true;
+    }
+
+    /**
+     * Removes the entry with the given name, if present when the batch is applied.
+     *
+     * @param name the server name to remove (case-insensitive, surrounding whitespace ignored)
+     * @return true if the removal was queued, false if the name is empty
+     */
+    public boolean remove(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return false;
+        }
+        changes.put(ServerRegistrySnapshot.nameKey(name.trim()), null);
+        return true;
+    }
+
+    /**
+     * Returns the number of queued changes.
+     *
+     * @return the batch size
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Returns the queued changes.
+     *
+     * @return new entry per case-folded name, or null for a removal
+     */
+    Map<String, ServerEntry> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+}
@@ -0,0 +1,123 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class ServerListDiff {
+    private final List<ServerEntry> merged;
+    private final List<ServerEntry> added;
+    private final List<ServerEntry> removed;
+    private final List<ServerEntry> changed;
+    private final boolean reordered;
+
+    private ServerListDiff(List<ServerEntry> merged, List<ServerEntry> added, List<ServerEntry> removed,
+            List<ServerEntry> changed, boolean reordered) {
+        this.merged = Collections.unmodifiableList(merged);
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+        this.reordered = reordered;
+    }
+
+    /**
+     * Compares a freshly loaded list against the current snapshot.
+     * Unchanged entries keep their existing instances in the merged list.
+     *
+     * @param current snapshot currently published by the registry
+     * @param loaded entries read from disk, in file order
+     * @return the differences between both lists
+     */
+    public static ServerListDiff between(ServerRegistrySnapshot current, List<ServerEntry> loaded) {
+        List<ServerEntry> merged = new ArrayList<>(loaded.size());
+        List<ServerEntry> added = new ArrayList<>();
+        List<ServerEntry> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ServerEntry entry : loaded) {
+            String key = ServerRegistrySnapshot.nameKey(entry.getName());
+            if (key == null || key.isEmpty() || !seen.add(key)) {
+                continue;
+            }
+            ServerEntry existing = current.getByName(entry.getName());
+            if (existing == null) {
+                added.add(entry);
+            } else if (!existing.equals(entry)) {
+                changed.add(entry);
+            } else {
+                entry = existing;
+            }
+            merged.add(entry);
+        }
+
+        List<ServerEntry> removed = new ArrayList<>();
+        List<ServerEntry> kept = new ArrayList<>();
+        for (ServerEntry entry : current.getEntries()) {
+            if (seen.contains(ServerRegistrySnapshot.nameKey(entry.getName()))) {
+                kept.add(entry);
+            } else {
+                removed.add(entry);
+            }
+        }
+
+        boolean reordered = false;
+        if (added.isEmpty() && removed.isEmpty() && kept.size() == merged.size()) {
+            for (int i = 0; i < merged.size(); i++) {
+                if (!ServerRegistrySnapshot.nameKey(kept.get(i).getName())
+                        .equals(ServerRegistrySnapshot.nameKey(merged.get(i).getName()))) {
+                    reordered = true;
+                    break;
+                }
+            }
+        }
+        return new ServerListDiff(merged, added, removed, changed, reordered);
+    }
+
+    /**
+     * Returns the loaded list with unchanged entries replaced by their current instances.
+     *
+     * @return the list to publish as the next snapshot
+     */
+    public List<ServerEntry> getMerged() {
+        return merged;
+    }
+
+    /**
+     * Returns entries that are new in the loaded list.
+     *
+     * @return added entries
+     */
+    public List<ServerEntry> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns entries that are no longer present in the loaded list.
+     *
+     * @return removed entries
+     */
+    public List<ServerEntry> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns entries whose address or port changed.
+     *
+     * @return changed entries as loaded from disk
+     */
+    public List<ServerEntry> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Checks whether applying the loaded list would change the registry.
+     *
+     * @return true if nothing was added, removed, changed or reordered
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty() && !reordered;
+    }
+}
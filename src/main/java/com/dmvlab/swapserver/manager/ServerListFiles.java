@@ -0,0 +1,111 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.io.AtomicFiles;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reads and writes server list files in the servers.json format, one entry at a time.
+ */
+public final class ServerListFiles {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private ServerListFiles() {}
+
+    /**
+     * Streams a JSON array of server entries into a batch. Only one entry is held in memory at a time;
+     * entries that do not parse or are not valid are skipped, see {@link #read}.
+     *
+     * @param file file to read
+     * @param batch batch receiving one put per valid entry
+     * @return the number of skipped entries
+     * @throws IOException if the file cannot be read or is not a JSON array
+     */
+    public static int readInto(Path file, ServerListBatch batch) throws IOException {
+        return read(file, batch::put);
+    }
+
+    /**
+     * Streams a JSON array of server entries, checking each one as it is read. Entries that do not parse,
+     * have no name, have neither an address nor endpoints, or have a port outside 0-65535 are skipped.
+     * If the file breaks off or stops being valid JSON, the entries read before that point have already
+     * been handed over when the exception is thrown.
+     *
+     * @param file file to read
+     * @param sink receives each valid entry in file order and returns false to count it as skipped
+     * @return the number of skipped entries
+     * @throws IOException if the file cannot be read or is not a JSON array
+     */
+    public static int read(Path file, Predicate<ServerEntry> sink) throws IOException {
+        int skipped = 0;
+        try (Reader fileReader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                JsonReader reader = new JsonReader(fileReader)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JsonElement element = JsonParser.parseReader(reader);
+                ServerEntry entry;
+                try {
+                    entry = GSON.fromJson(element, ServerEntry.class);
+                } catch (JsonParseException e) {
+                    entry = null;
+                }
+                if (!isValid(entry) || !sink.test(entry)) {
+                    skipped++;
+                }
+            }
+            reader.endArray();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Invalid server list: " + e.getMessage(), e);
+        }
+        return skipped;
+    }
+
+    /**
+     * Checks that an entry read from a file can be listed.
+     *
+     * @param entry the parsed entry, or null if it did not parse
+     * @return true if the entry has a name, an address or endpoints, and a valid port
+     */
+    private static boolean isValid(ServerEntry entry) {
+        if (entry == null || entry.getName() == null || entry.getName().trim().isEmpty()) {
+            return false;
+        }
+        if ((entry.getIp() == null || entry.getIp().trim().isEmpty()) && !entry.isGroup()) {
+            return false;
+        }
+        return entry.getPort() >= 0 && entry.getPort() <= 65535;
+    }
+
+    /**
+     * Writes entries to a file through a synced temp file and an atomic rename.
+     *
+     * @param file file to write
+     * @param entries entries to write, in display order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<ServerEntry> entries) throws IOException {
+        AtomicFiles.write(file, out -> {
+            try (JsonWriter writer = GSON.newJsonWriter(out)) {
+                writer.beginArray();
+                for (ServerEntry entry : entries) {
+                    GSON.toJson(entry, ServerEntry.class, writer);
+                }
+                writer.endArray();
+            }
+        });
+    }
+}
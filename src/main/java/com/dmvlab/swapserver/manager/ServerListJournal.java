@@ -0,0 +1,322 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Append-only change log kept next to servers.json. Each change is one JSON line; servers.json holds
+ * the last compacted snapshot and the journal holds everything since.
+ *
+ * <p>Replay is last-writer-wins per server name, so records that are already part of the snapshot
+ * can be applied again without changing the result. Compaction appends queued records and captures
+ * the snapshot under the registry write lock, so the snapshot always covers every record in the file.</p>
+ */
+public class ServerListJournal {
+    static final String OP_ADD = "add";
+    static final String OP_UPDATE = "update";
+    static final String OP_REMOVE = "remove";
+
+    private static final long APPEND_DELAY_MILLIS = 50L;
+    private static final long COMPACT_INTERVAL_MINUTES = 5L;
+    private static final int COMPACT_THRESHOLD = 1000;
+
+    private static final Gson GSON = new Gson();
+
+    private final Path journalFile;
+    private final ServerListPersister snapshotWriter;
+    private final Supplier<ServerRegistrySnapshot> source;
+    private final Object lock;
+    private final List<Record> queued = new ArrayList<>();
+    private final AtomicBoolean appendScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService writer;
+    private FileChannel channel;
+    private int recordsInFile;
+
+    /**
+     * Creates a journal for the given file.
+     *
+     * @param journalFile file that receives one record per line
+     * @param snapshotWriter writer used to compact the journal into servers.json
+     * @param source supplier of the latest registry snapshot
+     * @param lock the registry write lock, held by callers of {@link #append}
+     */
+    public ServerListJournal(Path journalFile, ServerListPersister snapshotWriter,
+            Supplier<ServerRegistrySnapshot> source, Object lock) {
+        this.journalFile = journalFile;
+        this.snapshotWriter = snapshotWriter;
+        this.source = source;
+        this.lock = lock;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Applies the journal on top of the snapshot read from servers.json.
+     * A torn last line left by a crash is dropped and cut from the file.
+     *
+     * @param journalFile journal to read; nothing is applied if it does not exist
+     * @param base entries read from servers.json
+     * @return the recovered entries
+     * @throws IOException if the journal cannot be read
+     */
+    public static List<ServerEntry> replay(Path journalFile, List<ServerEntry> base) throws IOException {
+        Map<String, ServerEntry> entries = new LinkedHashMap<>();
+        for (ServerEntry entry : base) {
+            entries.putIfAbsent(ServerRegistrySnapshot.nameKey(entry.getName()), entry);
+        }
+        if (!Files.exists(journalFile)) {
+            return base;
+        }
+
+        byte[] bytes = Files.readAllBytes(journalFile);
+        int lineStart = 0;
+        int skipped = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8).trim();
+            lineStart = i + 1;
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                Record record = GSON.fromJson(line, Record.class);
+                if (record == null || !record.apply(entries)) {
+                    skipped++;
+                }
+            } catch (JsonParseException e) {
+                skipped++;
+            }
+        }
+        if (lineStart < bytes.length) {
+            System.err.println("Swap_Server dropped an incomplete record at the end of servers.journal");
+            try (FileChannel truncate = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                truncate.truncate(lineStart);
+            }
+        }
+        if (skipped > 0) {
+            System.err.println("Swap_Server skipped " + skipped + " unreadable records in servers.journal");
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Opens the journal for appending and schedules periodic compaction.
+     * A journal left over from the previous run is compacted right away.
+     *
+     * @throws IOException if the journal cannot be opened
+     */
+    public void open() throws IOException {
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (channel.size() > 0) {
+            requestCompaction();
+        }
+        writer.scheduleWithFixedDelay(this::compactIfDirty, COMPACT_INTERVAL_MINUTES, COMPACT_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    /**
+     * Queues a record for the background writer. Callers must hold the registry write lock so that
+     * records reach the file in the same order as the snapshots they describe.
+     *
+     * @param op one of add, update or remove
+     * @param name name of the affected server
+     * @param entry the new entry, or null for a removal
+     */
+    void append(String op, String name, ServerEntry entry) {
+        queued.add(new Record(op, name, entry));
+        if (appendScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::appendPending, APPEND_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Writer already shut down; close() compacts everything that is still queued.
+                appendScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Appends every queued record, then compacts once the journal has grown past the threshold.
+     */
+    private void appendPending() {
+        appendScheduled.set(false);
+        synchronized (lock) {
+            writeQueued();
+        }
+        if (recordsInFile >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes queued records to the end of the file in one batch and forces them to disk.
+     * Callers must hold the registry write lock.
+     */
+    private void writeQueued() {
+        if (queued.isEmpty() || channel == null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        StringBuilder batch = new StringBuilder();
+        for (Record record : queued) {
+            batch.append(GSON.toJson(record)).append('\n');
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            recordsInFile += queued.size();
+            queued.clear();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            PluginTimer.SAVE_SERVERS.record(startNanos);
+        }
+    }
+
+    /**
+     * Compacts only if something was appended since the last compaction.
+     */
+    private void compactIfDirty() {
+        if (recordsInFile > 0) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes the current registry to servers.json and empties the journal.
+     * The journal is kept if the snapshot could not be written.
+     */
+    private void compact() {
+        ServerRegistrySnapshot current;
+        synchronized (lock) {
+            writeQueued();
+            current = source.get();
+        }
+        try {
+            snapshotWriter.writeSnapshot(current);
+            if (channel != null) {
+                channel.truncate(0);
+                channel.force(true);
+            }
+            recordsInFile = 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Requests a compaction on the background writer, e.g. after servers.json was edited by hand.
+     */
+    void requestCompaction() {
+        try {
+            writer.execute(this::compact);
+        } catch (RuntimeException e) {
+            compact();
+        }
+    }
+
+    /**
+     * Stops the background writer without appending or compacting.
+     */
+    public void discard() {
+        writer.shutdownNow();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Appends anything still queued and compacts, then stops the background writer.
+     */
+    public void close() {
+        try {
+            writer.submit(this::compact).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            compact();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * One line of the journal.
+     */
+    static final class Record {
+        private String op;
+        private String name;
+        private ServerEntry entry;
+
+        Record(String op, String name, ServerEntry entry) {
+            this.op = op;
+            this.name = name;
+            this.entry = entry;
+        }
+
+        /**
+         * Applies this record to entries keyed by case-folded name.
+         *
+         * @param entries entries being recovered
+         * @return false if the record is malformed
+         */
+        boolean apply(Map<String, ServerEntry> entries) {
+            if (name == null || op == null) {
+                return false;
+            }
+            String key = ServerRegistrySnapshot.nameKey(name);
+            if (OP_REMOVE.equals(op)) {
+                entries.remove(key);
+                return true;
+            }
+            if (!OP_ADD.equals(op) && !OP_UPDATE.equals(op) || entry == null || entry.getName() == null) {
+                return false;
+            }
+            entries.put(key, entry);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.dmvlab.swapserver.manager;
+
+public interface ServerListListener {
+    /**
+     * Called after a new registry snapshot has been published.
+     * Runs on the thread that changed the registry, so implementations should only hand work off.
+     *
+     * @param previous snapshot that was replaced
+     * @param current snapshot that is now published
+     */
+    void onServerListChanged(ServerRegistrySnapshot previous, ServerRegistrySnapshot current);
+}
@@ -1,21 +1,28 @@
 package com.dmvlab.swapserver.manager;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.dmvlab.swapserver.model.ServerEntry;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ServerListManager {
-    private final Path serversFile;
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-    private List<ServerEntry> serverEntries = new ArrayList<>();
+    private final AtomicReference<ServerRegistrySnapshot> snapshot =
+            new AtomicReference<>(ServerRegistrySnapshot.empty());
+    private final Object writeLock = new Object();
+    private final ServerRegistryBackend backend;
+    private final List<ServerListListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean loadStarted = new AtomicBoolean();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
 
     /**
      * Creates a manager and loads or creates the servers.json file.
@@ -23,37 +30,141 @@ public class ServerListManager {
      * @param dataFolder folder where the servers.json file is stored
      */
     public ServerListManager(Path dataFolder) {
-        this.serversFile = dataFolder.resolve("servers.json");
-        try {
-            if (!Files.exists(dataFolder)) {
-                Files.createDirectories(dataFolder);
-            }
-            if (!Files.exists(serversFile)) {
-                saveServers();
-            } else {
-                String json = new String(Files.readAllBytes(serversFile), StandardCharsets.UTF_8);
-                ServerEntry[] loaded = gson.fromJson(json, ServerEntry[].class);
-                if (loaded != null) {
-                    for (ServerEntry entry : loaded) {
-                        if (entry == null) {
-                            continue;
-                        }
-                        serverEntries.add(entry);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        this(dataFolder, StorageMode.JSON);
+    }
+
+    /**
+     * Creates a manager using the given file storage mode and loads or creates its files.
+     * In journal mode servers.json is the last compacted snapshot and servers.journal is replayed on top of it.
+     *
+     * @param dataFolder folder where the servers.json file is stored
+     * @param storageMode {@link StorageMode#JSON} or {@link StorageMode#JOURNAL}
+     */
+    public ServerListManager(Path dataFolder, StorageMode storageMode) {
+        this(new JsonFileRegistryBackend(dataFolder, storageMode));
+    }
+
+    /**
+     * Creates a manager on top of the given storage backend and loads the stored list.
+     *
+     * @param backend storage that persists the list and reports external changes
+     */
+    public ServerListManager(ServerRegistryBackend backend) {
+        this(backend, true);
+    }
+
+    /**
+     * Creates a manager on top of the given storage backend. Without loading now, the registry stays empty
+     * and not ready until {@link #loadInBackground()} has run, so listeners can be added first.
+     *
+     * @param backend storage that persists the list and reports external changes
+     * @param loadNow whether to load the stored list before returning
+     */
+    public ServerListManager(ServerRegistryBackend backend, boolean loadNow) {
+        this.backend = backend;
+        if (loadNow) {
+            loadStarted.set(true);
+            load();
+        }
+    }
+
+    /**
+     * Loads the stored list on a background thread, so a large list does not hold up server start.
+     * Listeners are notified once it is published. Does nothing if loading already started.
+     *
+     * @return the readiness of the registry, see {@link #getReadiness()}
+     */
+    public CompletionStage<Void> loadInBackground() {
+        if (loadStarted.compareAndSet(false, true)) {
+            Thread loader = new Thread(this::load, "SwapServer-Load");
+            loader.setDaemon(true);
+            loader.start();
         }
+        return getReadiness();
+    }
+
+    /**
+     * Returns a stage completed once the stored list is published and the backend is open. If the stored
+     * list could not be read, the stage completes exceptionally and the registry stays empty and read-only.
+     *
+     * @return the readiness of the registry
+     */
+    public CompletionStage<Void> getReadiness() {
+        return ready.minimalCompletionStage();
+    }
+
+    /**
+     * Checks whether the stored list has been loaded. Until then, or if loading failed, the registry refuses
+     * changes.
+     *
+     * @return true once the registry is ready
+     */
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Checks whether the stored list could not be loaded. The registry then refuses every change and
+     * never writes to the storage, so the stored list is left as it was for the admin to repair.
+     *
+     * @return true if loading failed
+     */
+    public boolean hasFailed() {
+        return ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns the current immutable registry snapshot.
+     *
+     * @return the latest published snapshot
+     */
+    public ServerRegistrySnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the version of the current registry snapshot.
+     *
+     * @return the registry version, incremented on every change
+     */
+    public long getVersion() {
+        return snapshot.get().getVersion();
     }
 
     /**
      * Returns the current list of server entries.
      *
-     * @return the list of servers currently in memory
+     * @return an unmodifiable view of the servers currently in memory
      */
     public List<ServerEntry> getServerList() {
-        return serverEntries;
+        return snapshot.get().getEntries();
+    }
+
+    /**
+     * Returns the tag index of the current registry snapshot.
+     *
+     * @return the index from tag to entry positions, rebuilt with every change
+     */
+    public ServerTagIndex getTagIndex() {
+        return snapshot.get().getTagIndex();
+    }
+
+    /**
+     * Registers a listener notified after every registry change.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(ServerListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(ServerListListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -66,45 +177,221 @@ public class ServerListManager {
         if (name == null || name.isEmpty()) {
             return Optional.empty();
         }
-        return serverEntries.stream().filter(s -> s.getName().equalsIgnoreCase(name)).findFirst();
+        return Optional.ofNullable(snapshot.get().getByName(name));
     }
 
     /**
      * Adds a server entry and persists the list to disk.
      *
      * @param entry the server entry to add
-     * @return true if the server was added, false if invalid or duplicate
+     * @return true if the server was added, false if invalid, duplicate or the list is not ready
      */
     public boolean addServer(ServerEntry entry) {
-        if (entry == null || entry.getName() == null || entry.getName().isEmpty()) {
+        if (entry == null || entry.getName() == null || entry.getName().isEmpty() || !isReady()) {
             return false;
         }
-        if (findServerByName(entry.getName()).isPresent()) {
-            return false;
+        synchronized (writeLock) {
+            ServerRegistrySnapshot current = snapshot.get();
+            if (current.getByName(entry.getName()) != null) {
+                return false;
+            }
+            List<ServerEntry> entries = new ArrayList<>(current.getEntries());
+            entries.add(entry);
+            publish(current, current.next(entries));
+            backend.saveAdded(entry);
         }
-        serverEntries.add(entry);
-        saveServers();
         return true;
     }
 
     /**
      * Removes any server entries matching the provided name and persists.
+     * Ignored while the list is still loading or if loading failed.
      *
      * @param name the server name to remove (case-insensitive)
      */
     public void removeServer(String name) {
-        serverEntries.removeIf(s -> s.getName().equalsIgnoreCase(name));
-        saveServers();
+        if (name == null || !isReady()) {
+            return;
+        }
+        synchronized (writeLock) {
+            ServerRegistrySnapshot current = snapshot.get();
+            if (current.getByName(name) == null) {
+                return;
+            }
+            List<ServerEntry> entries = new ArrayList<>(current.getEntries());
+            String key = ServerRegistrySnapshot.nameKey(name);
+            entries.removeIf(s -> key.equals(ServerRegistrySnapshot.nameKey(s.getName())));
+            publish(current, current.next(entries));
+            backend.saveRemoved(name);
+        }
+    }
+
+    /**
+     * Applies every change of a batch at once: one new snapshot, one save and one listener call.
+     *
+     * @param batch adds, replacements and removals to apply
+     * @return the applied differences, empty if the batch changed nothing or the list is not ready
+     */
+    public ServerListDiff applyBatch(ServerListBatch batch) {
+        synchronized (writeLock) {
+            ServerRegistrySnapshot current = snapshot.get();
+            if (!isReady()) {
+                return ServerListDiff.between(current, current.getEntries());
+            }
+            ServerListDiff diff = ServerListDiff.between(current, merge(current, batch.getChanges()));
+            if (!diff.isEmpty()) {
+                publish(current, current.next(diff.getMerged()));
+                backend.saveBatch(diff);
+            }
+            return diff;
+        }
+    }
+
+    /**
+     * Starts picking up changes made outside this manager, such as edits of servers.json.
+     * If the list is still loading, watching starts once it is ready, and never if loading fails.
+     */
+    public void startWatching() {
+        ready.thenRun(() -> {
+            try {
+                backend.startWatching();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Returns the lock held while changes are published, for backends that must order their writes with it.
+     *
+     * @return the write lock
+     */
+    Object getWriteLock() {
+        return writeLock;
+    }
+
+    /**
+     * Replaces the registry with a list read from storage, applying only the entries that differ.
+     *
+     * @param loaded the complete list as stored
+     * @param source name of the storage, used in the log line
+     * @return the applied differences, or null if nothing changed
+     */
+    ServerListDiff applyLoaded(List<ServerEntry> loaded, String source) {
+        synchronized (writeLock) {
+            ServerRegistrySnapshot current = snapshot.get();
+            ServerListDiff diff = ServerListDiff.between(current, loaded);
+            if (diff.isEmpty()) {
+                return null;
+            }
+            publish(current, current.next(diff.getMerged()));
+            System.out.println("Swap_Server reloaded " + source + ": " + diff.getAdded().size() + " added, "
+                    + diff.getRemoved().size() + " removed, " + diff.getChanged().size() + " changed");
+            return diff;
+        }
+    }
+
+    /**
+     * Applies changes made by another node. Entries that already match are left alone, so a node
+     * may safely receive its own changes back.
+     *
+     * @param changes new entry per case-folded name, or null for a removal
+     * @param source name of the storage, used in the log line
+     */
+    void applyChanges(Map<String, ServerEntry> changes, String source) {
+        synchronized (writeLock) {
+            ServerRegistrySnapshot current = snapshot.get();
+            ServerListDiff diff = ServerListDiff.between(current, merge(current, changes));
+            if (diff.isEmpty()) {
+                return;
+            }
+            publish(current, current.next(diff.getMerged()));
+            System.out.println("Swap_Server applied changes from " + source + ": " + diff.getAdded().size()
+                    + " added, " + diff.getRemoved().size() + " removed, " + diff.getChanged().size() + " changed");
+        }
     }
 
     /**
-     * Writes the current server list to servers.json.
+     * Builds the list that results from applying changes to a snapshot. Replaced entries keep their
+     * position and new entries are appended in change order.
+     *
+     * @param current snapshot the changes apply to
+     * @param changes new entry per case-folded name, or null for a removal
+     * @return the resulting list
      */
-    private void saveServers() {
+    private static List<ServerEntry> merge(ServerRegistrySnapshot current, Map<String, ServerEntry> changes) {
+        List<ServerEntry> entries = new ArrayList<>(current.getEntries());
+        for (Map.Entry<String, ServerEntry> change : changes.entrySet()) {
+            ServerEntry existing = current.getByName(change.getKey());
+            ServerEntry incoming = change.getValue();
+            if (existing == null) {
+                if (incoming != null) {
+                    entries.add(incoming);
+                }
+            } else if (incoming == null) {
+                entries.remove(existing);
+            } else {
+                entries.set(entries.indexOf(existing), incoming);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Publishes a new snapshot and notifies listeners. Callers must hold the write lock.
+     *
+     * @param previous snapshot being replaced
+     * @param next snapshot to publish
+     */
+    private void publish(ServerRegistrySnapshot previous, ServerRegistrySnapshot next) {
+        snapshot.set(next);
+        for (ServerListListener listener : listeners) {
+            try {
+                listener.onServerListChanged(previous, next);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Reads the stored list, publishes it and opens the backend. A failed read leaves the registry empty
+     * and failed rather than ready, so the next change cannot overwrite the stored list with nothing.
+     */
+    private void load() {
+        try {
+            List<ServerEntry> loaded = backend.load(this);
+            synchronized (writeLock) {
+                ServerRegistrySnapshot current = snapshot.get();
+                publish(current, current.next(loaded));
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            ready.completeExceptionally(e);
+            return;
+        }
         try {
-            Files.write(serversFile, gson.toJson(serverEntries).getBytes(StandardCharsets.UTF_8));
-        } catch (IOException e) {
+            backend.open();
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
         }
+        ready.complete(null);
+    }
+
+    /**
+     * Writes any pending changes and releases the storage backend. Waits for a load in progress first; after
+     * a failed load the backend is released without writing.
+     */
+    public void shutdown() {
+        if (!loadStarted.get()) {
+            return;
+        }
+        try {
+            ready.join();
+        } catch (CompletionException e) {
+            backend.discard();
+            return;
+        }
+        backend.close();
     }
 }
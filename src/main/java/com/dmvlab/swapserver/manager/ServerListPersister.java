@@ -0,0 +1,133 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.io.AtomicFiles;
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+public class ServerListPersister {
+    private static final long COALESCE_DELAY_MILLIS = 250L;
+
+    private final Path targetFile;
+    private final Gson gson;
+    private final Supplier<ServerRegistrySnapshot> source;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile FileTime lastWrittenTime;
+
+    /**
+     * Creates a write-behind persister for the given file.
+     *
+     * @param targetFile file that receives the serialized server list
+     * @param gson serializer used to write the list
+     * @param source supplier of the latest registry snapshot to persist
+     */
+    public ServerListPersister(Path targetFile, Gson gson, Supplier<ServerRegistrySnapshot> source) {
+        this.targetFile = targetFile;
+        this.gson = gson;
+        this.source = source;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Marks the list as dirty and schedules a background write.
+     * Requests made while a write is already pending are merged into it.
+     */
+    public void requestSave() {
+        if (pending.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::writePending, COALESCE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Writer already shut down; persist on the caller instead of losing the change.
+                writePending();
+            }
+        }
+    }
+
+    /**
+     * Writes any pending change immediately and waits for it to reach disk.
+     */
+    public void flush() {
+        try {
+            writer.submit(this::writePending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            writePending();
+        }
+    }
+
+    /**
+     * Stops the background writer without writing pending changes.
+     */
+    public void discard() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * Flushes pending changes and stops the background writer.
+     */
+    public void close() {
+        flush();
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether the file on disk is the one this persister wrote last.
+     *
+     * @param modifiedTime current modification time of the target file
+     * @return true if the file was last written by this persister
+     */
+    public boolean isOwnWrite(FileTime modifiedTime) {
+        return modifiedTime != null && modifiedTime.equals(lastWrittenTime);
+    }
+
+    /**
+     * Writes the latest snapshot if a save is still pending.
+     */
+    private synchronized void writePending() {
+        if (!pending.getAndSet(false)) {
+            return;
+        }
+        try {
+            writeSnapshot(source.get());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the given snapshot through a synced temp file and an atomic rename.
+     *
+     * @param current snapshot to write
+     * @throws IOException if the file could not be written
+     */
+    synchronized void writeSnapshot(ServerRegistrySnapshot current) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            AtomicFiles.write(targetFile, out -> gson.toJson(current.getEntries(), out));
+            lastWrittenTime = Files.getLastModifiedTime(targetFile);
+        } finally {
+            PluginTimer.SAVE_SERVERS.record(startNanos);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dmvlab.swapserver.manager;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ServerListWatcher {
+    private static final long DEBOUNCE_MILLIS = 500L;
+
+    private final Path watchedFile;
+    private final Runnable onChange;
+    private final ScheduledExecutorService scheduler;
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledFuture<?> pendingReload;
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher that reports debounced changes to a single file.
+     *
+     * @param watchedFile file whose parent directory is watched
+     * @param onChange callback run on the watcher's scheduler after changes settle
+     */
+    public ServerListWatcher(Path watchedFile, Runnable onChange) {
+        this.watchedFile = watchedFile;
+        this.onChange = onChange;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers the watch on the parent directory and starts the watch thread.
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    public synchronized void start() throws IOException {
+        if (watchThread != null || closed) {
+            return;
+        }
+        Path directory = watchedFile.toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watchThread = new Thread(this::watchLoop, "SwapServer-Watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    /**
+     * Stops watching and cancels any pending reload.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Waits for directory events and schedules a reload for the watched file.
+     */
+    private void watchLoop() {
+        Path fileName = watchedFile.getFileName();
+        while (!closed) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    scheduleReload();
+                }
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Restarts the debounce timer so bursts of events trigger a single reload.
+     */
+    private synchronized void scheduleReload() {
+        if (closed) {
+            return;
+        }
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = scheduler.schedule(onChange, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class ServerNameIndex {
+    private static final int MAX_GRAM_LENGTH = 3;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final String[] foldedNames;
+    private final Map<String, int[]> postings;
+
+    /**
+     * Builds a substring index over the names of the given entries.
+     * Every substring of up to three characters maps to the ascending positions containing it.
+     *
+     * @param entries entries in display order
+     */
+    ServerNameIndex(List<ServerEntry> entries) {
+        this.foldedNames = new String[entries.size()];
+        Map<String, List<Integer>> building = new HashMap<>();
+        for (int position = 0; position < entries.size(); position++) {
+            String folded = entries.get(position).getName().toLowerCase(Locale.ROOT);
+            foldedNames[position] = folded;
+            for (int start = 0; start < folded.length(); start++) {
+                int maxEnd = Math.min(folded.length(), start + MAX_GRAM_LENGTH);
+                for (int end = start + 1; end <= maxEnd; end++) {
+                    List<Integer> positions = building.computeIfAbsent(folded.substring(start, end),
+                            key -> new ArrayList<>());
+                    if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+                        positions.add(position);
+                    }
+                }
+            }
+        }
+        this.postings = new HashMap<>(building.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Returns the positions of entries whose name contains the query, ignoring case.
+     *
+     * @param query text to search for
+     * @return ascending entry positions; every position if the query is empty
+     */
+    public int[] search(String query) {
+        String folded = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (folded.isEmpty()) {
+            int[] all = new int[foldedNames.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        if (folded.length() <= MAX_GRAM_LENGTH) {
+            int[] matches = postings.get(folded);
+            return matches != null ? matches : NO_MATCHES;
+        }
+
+        int[] candidates = null;
+        for (int start = 0; start + MAX_GRAM_LENGTH <= folded.length(); start++) {
+            int[] positions = postings.get(folded.substring(start, start + MAX_GRAM_LENGTH));
+            if (positions == null) {
+                return NO_MATCHES;
+            }
+            if (candidates == null || positions.length < candidates.length) {
+                candidates = positions;
+            }
+        }
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int position : candidates) {
+            if (foldedNames[position].contains(folded)) {
+                matches[count++] = position;
+            }
+        }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
+    }
+}
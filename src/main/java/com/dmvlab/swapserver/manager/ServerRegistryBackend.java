@@ -0,0 +1,68 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage behind a {@link ServerListManager}. The manager keeps the in-memory registry and calls the
+ * backend to persist local changes; the backend pushes changes made elsewhere back through the manager.
+ */
+public interface ServerRegistryBackend {
+
+    /**
+     * Reads the stored server list. Called once from the manager's constructor, before any other method.
+     *
+     * @param manager the registry this backend persists
+     * @return the stored entries, in display order
+     * @throws IOException if the storage cannot be read
+     */
+    List<ServerEntry> load(ServerListManager manager) throws IOException;
+
+    /**
+     * Starts background writers once the loaded list has been published.
+     *
+     * @throws IOException if the storage cannot be opened for writing
+     */
+    void open() throws IOException;
+
+    /**
+     * Persists a newly added entry. Called while the manager's write lock is held.
+     *
+     * @param entry the added entry
+     */
+    void saveAdded(ServerEntry entry);
+
+    /**
+     * Persists the removal of an entry. Called while the manager's write lock is held.
+     *
+     * @param name name of the removed entry
+     */
+    void saveRemoved(String name);
+
+    /**
+     * Persists every change of a batch with a single write. Called while the manager's write lock is held.
+     *
+     * @param diff the applied differences
+     */
+    void saveBatch(ServerListDiff diff);
+
+    /**
+     * Starts picking up changes made outside this manager.
+     *
+     * @throws IOException if the change source cannot be watched
+     */
+    void startWatching() throws IOException;
+
+    /**
+     * Writes anything still pending and releases the storage.
+     */
+    void close();
+
+    /**
+     * Releases the storage without writing anything. Called instead of {@link #close()} when
+     * {@link #load(ServerListManager)} failed, so the empty registry never replaces the stored list.
+     */
+    void discard();
+}
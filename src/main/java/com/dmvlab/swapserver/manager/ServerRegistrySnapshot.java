@@ -0,0 +1,134 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class ServerRegistrySnapshot {
+    private static final ServerRegistrySnapshot EMPTY = new ServerRegistrySnapshot(0L, Collections.emptyList());
+
+    private final long version;
+    private final List<ServerEntry> entries;
+    private final Map<String, ServerEntry> entriesByName;
+    private final ServerTagIndex tagIndex;
+    private volatile ServerNameIndex nameIndex;
+
+    /**
+     * Creates an immutable snapshot of the registry at the given version.
+     * Entries without a name cannot be shown or joined and are dropped. The tag index is built here,
+     * once per version, so switching categories is a lookup.
+     *
+     * @param version monotonically increasing registry version
+     * @param entries server entries in display order
+     */
+    private ServerRegistrySnapshot(long version, List<ServerEntry> entries) {
+        this.version = version;
+        List<ServerEntry> named = new ArrayList<>(entries.size());
+        Map<String, ServerEntry> index = new HashMap<>(Math.max(16, entries.size() * 2));
+        for (ServerEntry entry : entries) {
+            String key = entry != null ? nameKey(entry.getName()) : null;
+            if (key != null) {
+                named.add(entry);
+                index.putIfAbsent(key, entry);
+            }
+        }
+        this.entries = Collections.unmodifiableList(named);
+        this.entriesByName = Collections.unmodifiableMap(index);
+        this.tagIndex = new ServerTagIndex(this.entries);
+    }
+
+    /**
+     * Returns the empty snapshot used before anything is loaded.
+     *
+     * @return the version 0 snapshot with no entries
+     */
+    public static ServerRegistrySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the snapshot that follows this one with the given entries.
+     *
+     * @param newEntries entries of the next snapshot
+     * @return a new snapshot with the version incremented by one
+     */
+    public ServerRegistrySnapshot next(List<ServerEntry> newEntries) {
+        return new ServerRegistrySnapshot(version + 1, newEntries);
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * @return the registry version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the server entries of this snapshot.
+     *
+     * @return an unmodifiable list of entries
+     */
+    public List<ServerEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the number of entries in this snapshot.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Looks up an entry by name using a case-insensitive match.
+     *
+     * @param name the server name to look up
+     * @return the matching entry, or null if none exists
+     */
+    public ServerEntry getByName(String name) {
+        String key = nameKey(name);
+        return key != null ? entriesByName.get(key) : null;
+    }
+
+    /**
+     * Returns the substring index over entry names, building it on first use.
+     *
+     * @return the name index for this snapshot
+     */
+    public ServerNameIndex getNameIndex() {
+        ServerNameIndex index = nameIndex;
+        if (index == null) {
+            index = new ServerNameIndex(entries);
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index from tag to the entries carrying it.
+     *
+     * @return the tag index for this snapshot
+     */
+    public ServerTagIndex getTagIndex() {
+        return tagIndex;
+    }
+
+    /**
+     * Converts a server name to the key used by the name index.
+     *
+     * @param name server name
+     * @return the case-folded key, or null if the name is null
+     */
+    static String nameKey(String name) {
+        return name != null ? name.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class ServerTagIndex {
+    private static final int[] NO_ENTRIES = new int[0];
+
+    private final List<String> tags;
+    private final Map<String, int[]> postings;
+
+    /**
+     * Builds the inverted index from tag to the positions of the entries carrying it.
+     * Tags match case-insensitively; each is listed under the spelling of its first use.
+     *
+     * @param entries entries in display order
+     */
+    ServerTagIndex(List<ServerEntry> entries) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        Map<String, List<Integer>> building = new LinkedHashMap<>();
+        for (int position = 0; position < entries.size(); position++) {
+            for (String tag : entries.get(position).getTags()) {
+                String key = tagKey(tag);
+                if (key == null) {
+                    continue;
+                }
+                labels.putIfAbsent(key, tag.trim());
+                List<Integer> positions = building.computeIfAbsent(key, ignored -> new ArrayList<>());
+                if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+                    positions.add(position);
+                }
+            }
+        }
+        this.tags = Collections.unmodifiableList(new ArrayList<>(labels.values()));
+        this.postings = new LinkedHashMap<>(building.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : building.entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Returns every tag in use, in the order they first appear in the list.
+     *
+     * @return tag labels
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Checks whether at least one entry carries the tag.
+     *
+     * @param tag tag to look up, in any case
+     * @return true if the tag is in use
+     */
+    public boolean contains(String tag) {
+        String key = tagKey(tag);
+        return key != null && postings.containsKey(key);
+    }
+
+    /**
+     * Returns the positions of the entries carrying a tag. The array is shared and must not be modified.
+     *
+     * @param tag tag to look up, in any case
+     * @return ascending entry positions, empty if no entry carries the tag
+     */
+    public int[] getPositions(String tag) {
+        String key = tagKey(tag);
+        int[] positions = key != null ? postings.get(key) : null;
+        return positions != null ? positions : NO_ENTRIES;
+    }
+
+    /**
+     * Converts a tag to the key used by the index.
+     *
+     * @param tag tag as written in servers.json
+     * @return the trimmed, case-folded key, or null if the tag is blank
+     */
+    public static String tagKey(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String key = tag.trim().toLowerCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
@@ -0,0 +1,524 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stores the server list in an SQLite database file that several nodes can share.
+ *
+ * <p>Every change is written to the servers table and appended to server_changes, whose
+ * auto-incremented version is the change feed. Each node polls the feed and applies only the rows
+ * newer than the last version it saw. A node that fell behind the pruned part of the feed reloads the
+ * whole table instead. All database work runs on one background thread.</p>
+ */
+public class SqliteRegistryBackend implements ServerRegistryBackend {
+    private static final String SOURCE = "database";
+    private static final long FLUSH_DELAY_MILLIS = 50L;
+    private static final long RETRY_DELAY_MILLIS = 1000L;
+    private static final int CHANGE_RETENTION = 10_000;
+
+    private final Path databaseFile;
+    private final Path seedFile;
+    private final long pollIntervalMillis;
+    private final Gson gson = new Gson();
+    private final List<Change> queued = new ArrayList<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService worker;
+    private ServerListManager manager;
+    private Connection connection;
+    private long lastSeenVersion;
+
+    /**
+     * Creates a database backend.
+     *
+     * @param databaseFile SQLite file shared by every node
+     * @param seedFile servers.json imported when the database is still empty
+     * @param pollIntervalMillis delay between two reads of the change feed
+     */
+    public SqliteRegistryBackend(Path databaseFile, Path seedFile, long pollIntervalMillis) {
+        this.databaseFile = databaseFile;
+        this.seedFile = seedFile;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Database");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the database, creates the schema, seeds it from servers.json if empty and reads the list.
+     *
+     * @param manager the registry this backend persists
+     * @return the stored entries, in insertion order
+     * @throws IOException if the database cannot be opened or read
+     */
+    @Override
+    public List<ServerEntry> load(ServerListManager manager) throws IOException {
+        this.manager = manager;
+        try {
+            Class.forName("org.sqlite.JDBC");
+            Path parent = databaseFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA busy_timeout=5000");
+                statement.execute("CREATE TABLE IF NOT EXISTS servers (name_key TEXT PRIMARY KEY, "
+                        + "position INTEGER NOT NULL, data TEXT NOT NULL)");
+                statement.execute("CREATE TABLE IF NOT EXISTS server_changes (version INTEGER PRIMARY KEY "
+                        + "AUTOINCREMENT, name_key TEXT NOT NULL, data TEXT)");
+            }
+            List<ServerEntry> seed = readSeed();
+            begin(true);
+            try {
+                if (!seed.isEmpty() && countServers() == 0) {
+                    for (ServerEntry entry : seed) {
+                        writeChange(new Change(ServerRegistrySnapshot.nameKey(entry.getName()), gson.toJson(entry)));
+                    }
+                    System.out.println("Swap_Server imported " + seed.size() + " servers into " + databaseFile);
+                }
+                List<ServerEntry> entries = readServers();
+                lastSeenVersion = readMaxVersion();
+                commit();
+                return entries;
+            } catch (SQLException e) {
+                rollback();
+                throw e;
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            throw new IOException("Could not open server database " + databaseFile, e);
+        }
+    }
+
+    /**
+     * Nothing to open: the connection is ready after {@link #load}.
+     */
+    @Override
+    public void open() {
+    }
+
+    /**
+     * Queues the entry for the next database write.
+     *
+     * @param entry the added entry
+     */
+    @Override
+    public void saveAdded(ServerEntry entry) {
+        queue(new Change(ServerRegistrySnapshot.nameKey(entry.getName()), gson.toJson(entry)));
+    }
+
+    /**
+     * Queues the removal for the next database write.
+     *
+     * @param name name of the removed entry
+     */
+    @Override
+    public void saveRemoved(String name) {
+        queue(new Change(ServerRegistrySnapshot.nameKey(name), null));
+    }
+
+    /**
+     * Queues every change of the batch for a single database transaction.
+     *
+     * @param diff the applied differences
+     */
+    @Override
+    public void saveBatch(ServerListDiff diff) {
+        synchronized (queued) {
+            for (ServerEntry entry : diff.getAdded()) {
+                queued.add(new Change(ServerRegistrySnapshot.nameKey(entry.getName()), gson.toJson(entry)));
+            }
+            for (ServerEntry entry : diff.getChanged()) {
+                queued.add(new Change(ServerRegistrySnapshot.nameKey(entry.getName()), gson.toJson(entry)));
+            }
+            for (ServerEntry entry : diff.getRemoved()) {
+                queued.add(new Change(ServerRegistrySnapshot.nameKey(entry.getName()), null));
+            }
+        }
+        scheduleFlush(FLUSH_DELAY_MILLIS);
+    }
+
+    /**
+     * Starts polling the change feed.
+     */
+    @Override
+    public void startWatching() {
+        worker.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the worker and closes the connection without writing anything.
+     */
+    @Override
+    public void discard() {
+        worker.shutdownNow();
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Writes queued changes, stops polling and closes the connection.
+     */
+    @Override
+    public void close() {
+        try {
+            worker.submit(this::flush).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            e.printStackTrace();
+        }
+        worker.shutdownNow();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Queues a change and schedules a write. Changes queued close together share one transaction.
+     *
+     * @param change the change to write
+     */
+    private void queue(Change change) {
+        synchronized (queued) {
+            queued.add(change);
+        }
+        scheduleFlush(FLUSH_DELAY_MILLIS);
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                worker.schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Worker already shut down; close() wrote what it could.
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes every queued change in one transaction. On failure, e.g. another node holding the
+     * lock past the busy timeout, the changes stay queued and the write is retried.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        List<Change> batch;
+        synchronized (queued) {
+            if (queued.isEmpty() || connection == null) {
+                return;
+            }
+            batch = new ArrayList<>(queued);
+            queued.clear();
+        }
+        long startNanos = System.nanoTime();
+        try {
+            begin(true);
+            try {
+                for (Change change : batch) {
+                    writeChange(change);
+                }
+                try (PreparedStatement prune = connection.prepareStatement(
+                        "DELETE FROM server_changes WHERE version <= (SELECT MAX(version) FROM server_changes) - ?")) {
+                    prune.setInt(1, CHANGE_RETENTION);
+                    prune.executeUpdate();
+                }
+                commit();
+            } catch (SQLException e) {
+                rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not write to the server database, retrying: " + e.getMessage());
+            synchronized (queued) {
+                queued.addAll(0, batch);
+            }
+            scheduleFlush(RETRY_DELAY_MILLIS);
+        } finally {
+            PluginTimer.SAVE_SERVERS.record(startNanos);
+        }
+    }
+
+    /**
+     * Writes this node's queued changes, then reads the changes newer than the last seen version and hands
+     * them to the manager.
+     *
+     * <p>Writing first means the feed holds every local change made before the poll, in the order it was
+     * made, so the last row per name is the one to keep, whichever node wrote it. The database is only
+     * touched outside the manager's write lock, so a node holding the database lock never stalls the
+     * threads changing the list; the lock is only taken to apply what was read.</p>
+     */
+    private void poll() {
+        flush();
+        readFeed();
+    }
+
+    /**
+     * Reads the feed rows newer than the last seen version and applies them. Names with a change still
+     * queued, made since the write or left by a failed one, are skipped: that change is written after
+     * every row read here, so it wins on every node.
+     */
+    private void readFeed() {
+        try {
+            long oldestVersion;
+            try (Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery("SELECT MIN(version) FROM server_changes")) {
+                oldestVersion = result.next() ? result.getLong(1) : 0L;
+            }
+            if (oldestVersion > lastSeenVersion + 1) {
+                resync();
+                return;
+            }
+
+            Map<String, ServerEntry> changes = new LinkedHashMap<>();
+            long newestVersion = lastSeenVersion;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT version, name_key, data FROM server_changes WHERE version > ? ORDER BY version")) {
+                statement.setLong(1, lastSeenVersion);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        newestVersion = result.getLong(1);
+                        String nameKey = result.getString(2);
+                        String data = result.getString(3);
+                        ServerEntry entry = parse(data);
+                        if (data != null && entry == null) {
+                            continue;
+                        }
+                        // Re-insert so the map keeps the order of each name's last change.
+                        changes.remove(nameKey);
+                        changes.put(nameKey, entry);
+                    }
+                }
+            }
+
+            synchronized (manager.getWriteLock()) {
+                changes.keySet().removeAll(queuedNames());
+                lastSeenVersion = newestVersion;
+                if (!changes.isEmpty()) {
+                    manager.applyChanges(changes, SOURCE);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not read the server database change feed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the whole table after this node missed changes that were already pruned from the feed.
+     * Names with a change still queued keep their local entry, as in {@link #readFeed()}.
+     *
+     * @throws SQLException if the database cannot be read
+     */
+    private void resync() throws SQLException {
+        List<ServerEntry> entries;
+        long version;
+        begin(false);
+        try {
+            entries = readServers();
+            version = readMaxVersion();
+            commit();
+        } catch (SQLException e) {
+            rollback();
+            throw e;
+        }
+        synchronized (manager.getWriteLock()) {
+            Set<String> pending = queuedNames();
+            if (!pending.isEmpty()) {
+                ServerRegistrySnapshot current = manager.getSnapshot();
+                entries.removeIf(entry -> pending.contains(ServerRegistrySnapshot.nameKey(entry.getName())));
+                for (String nameKey : pending) {
+                    ServerEntry local = current.getByName(nameKey);
+                    if (local != null) {
+                        entries.add(local);
+                    }
+                }
+            }
+            lastSeenVersion = version;
+            manager.applyLoaded(entries, SOURCE);
+        }
+    }
+
+    /**
+     * Returns the names of the changes waiting to be written.
+     *
+     * @return case-folded names of the queued changes
+     */
+    private Set<String> queuedNames() {
+        Set<String> names = new HashSet<>();
+        synchronized (queued) {
+            for (Change change : queued) {
+                names.add(change.nameKey);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Applies one change to the servers table and appends it to the feed.
+     * Must run inside a write transaction.
+     *
+     * @param change the change to write
+     * @throws SQLException if the statements fail
+     */
+    private void writeChange(Change change) throws SQLException {
+        if (change.data == null) {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM servers WHERE name_key = ?")) {
+                delete.setString(1, change.nameKey);
+                delete.executeUpdate();
+            }
+        } else {
+            try (PreparedStatement upsert = connection.prepareStatement("INSERT INTO servers (name_key, position, data) "
+                    + "VALUES (?, (SELECT COALESCE(MAX(position), 0) + 1 FROM servers), ?) "
+                    + "ON CONFLICT(name_key) DO UPDATE SET data = excluded.data")) {
+                upsert.setString(1, change.nameKey);
+                upsert.setString(2, change.data);
+                upsert.executeUpdate();
+            }
+        }
+        try (PreparedStatement feed = connection.prepareStatement(
+                "INSERT INTO server_changes (name_key, data) VALUES (?, ?)")) {
+            feed.setString(1, change.nameKey);
+            feed.setString(2, change.data);
+            feed.executeUpdate();
+        }
+    }
+
+    private List<ServerEntry> readServers() throws SQLException {
+        List<ServerEntry> entries = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT data FROM servers ORDER BY position")) {
+            while (result.next()) {
+                ServerEntry entry = parse(result.getString(1));
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private long readMaxVersion() throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM server_changes")) {
+            return result.next() ? result.getLong(1) : 0L;
+        }
+    }
+
+    private int countServers() throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM servers")) {
+            return result.next() ? result.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Reads servers.json so an empty database starts with the list this node already had.
+     *
+     * @return the valid entries of servers.json, or an empty list if it is missing or unreadable
+     */
+    private List<ServerEntry> readSeed() {
+        List<ServerEntry> entries = new ArrayList<>();
+        if (seedFile == null || !Files.exists(seedFile)) {
+            return entries;
+        }
+        try {
+            ServerListFiles.read(seedFile, entries::add);
+        } catch (IOException e) {
+            // A damaged file would seed the shared database with part of the list; start empty instead.
+            entries.clear();
+            System.err.println("Could not read servers.json to seed the database: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Parses a stored entry, skipping rows that are not valid JSON.
+     *
+     * @param data JSON of the entry, or null for a removal
+     * @return the entry, or null
+     */
+    private ServerEntry parse(String data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(data, ServerEntry.class);
+        } catch (JsonParseException e) {
+            System.err.println("Skipping unreadable server row: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void begin(boolean write) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(write ? "BEGIN IMMEDIATE" : "BEGIN");
+        }
+    }
+
+    private void commit() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("COMMIT");
+        }
+    }
+
+    private void rollback() {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ROLLBACK");
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * One queued write: the new JSON of an entry, or null data for a removal.
+     */
+    private static final class Change {
+        private final String nameKey;
+        private final String data;
+
+        private Change(String nameKey, String data) {
+            this.nameKey = nameKey;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dmvlab.swapserver.manager;
+
+import java.util.Locale;
+
+public enum StorageMode {
+    JSON("json"),
+    JOURNAL("journal"),
+    SQLITE("sqlite");
+
+    private final String id;
+
+    StorageMode(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the identifier used in config.json.
+     *
+     * @return the mode identifier
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Resolves a mode from its config identifier.
+     *
+     * @param id identifier from config.json, may be null
+     * @return the matching mode, or {@link #JSON} if unknown
+     */
+    public static StorageMode fromId(String id) {
+        if (id != null) {
+            String normalized = id.trim().toLowerCase(Locale.ROOT);
+            for (StorageMode mode : values()) {
+                if (mode.id.equals(normalized)) {
+                    return mode;
+                }
+            }
+        }
+        return JSON;
+    }
+}
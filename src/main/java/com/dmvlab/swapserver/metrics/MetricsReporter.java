@@ -0,0 +1,104 @@
+package com.dmvlab.swapserver.metrics;
+
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.io.AtomicFiles;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsReporter {
+    private static final long DUMP_INTERVAL_SECONDS = 60L;
+
+    private final Path metricsFile;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a reporter that writes metrics.json into the given folder.
+     *
+     * @param dataFolder folder that receives metrics.json
+     */
+    public MetricsReporter(Path dataFolder) {
+        this.metricsFile = dataFolder.resolve("metrics.json");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the periodic dump.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::dump, DUMP_INTERVAL_SECONDS, DUMP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes a final dump and stops the reporter.
+     */
+    public void close() {
+        scheduler.shutdownNow();
+        dump();
+    }
+
+    /**
+     * Formats every timer as a human-readable line for chat, labelled in the reader's language.
+     *
+     * @param i18nManager translations used for the labels
+     * @return one line per timer
+     */
+    public static List<String> describe(I18nManager i18nManager) {
+        List<String> lines = new ArrayList<>();
+        for (PluginTimer timer : PluginTimer.values()) {
+            LatencyHistogram.Snapshot snapshot = timer.getHistogram().snapshot();
+            lines.add(i18nManager.translate("stats_row", i18nManager.translate("stats_" + timer.getMetricName()),
+                    snapshot.getCount(), formatNanos(snapshot.getMeanNanos()),
+                    formatNanos(snapshot.getPercentileNanos(50)), formatNanos(snapshot.getPercentileNanos(99)),
+                    formatNanos(snapshot.getMaxNanos())));
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the current metrics to metrics.json through a synced temp file and an atomic rename.
+     */
+    private void dump() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("timestamp", System.currentTimeMillis());
+        Map<String, Object> timers = new LinkedHashMap<>();
+        for (PluginTimer timer : PluginTimer.values()) {
+            LatencyHistogram.Snapshot snapshot = timer.getHistogram().snapshot();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", snapshot.getCount());
+            values.put("meanNanos", snapshot.getMeanNanos());
+            values.put("p50Nanos", snapshot.getPercentileNanos(50));
+            values.put("p90Nanos", snapshot.getPercentileNanos(90));
+            values.put("p99Nanos", snapshot.getPercentileNanos(99));
+            values.put("maxNanos", snapshot.getMaxNanos());
+            timers.put(timer.getMetricName(), values);
+        }
+        root.put("timers", timers);
+        try {
+            AtomicFiles.write(metricsFile, out -> gson.toJson(root, out));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000L) {
+            return String.format("%.2fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.1fus", nanos / 1_000.0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.dmvlab.swapserver.metrics;
+
+import java.util.Locale;
+
+public enum PluginTimer {
+    PAGE_BUILD,
+    PAGE_EVENT,
+    POPULATE_LIST,
+    SAVE_SERVERS,
+    I18N_LOAD,
+    TRANSLATION_SEND;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Records the time elapsed since the given start.
+     *
+     * @param startNanos value of {@link System#nanoTime()} taken when the timed work began
+     */
+    public void record(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the histogram backing this timer.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the name used in reports.
+     *
+     * @return the lower-case timer name
+     */
+    public String getMetricName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dmvlab.swapserver.model;
+
+import java.util.Objects;
+
+public class ServerEndpoint {
+    private String ip;
+    private int port;
+
+    /**
+     * Creates an empty endpoint for serialization.
+     */
+    public ServerEndpoint() {}
+
+    /**
+     * Creates an endpoint with the provided values.
+     *
+     * @param ip host or IP address
+     * @param port server port
+     */
+    public ServerEndpoint(String ip, int port) {
+        this.ip = ip;
+        this.port = port;
+    }
+
+    /**
+     * Returns the endpoint host or IP address.
+     *
+     * @return the endpoint address
+     */
+    public String getIp() { return ip; }
+
+    /**
+     * Returns the endpoint port.
+     *
+     * @return the endpoint port
+     */
+    public int getPort() { return port; }
+
+    /**
+     * Returns the "host:port" key used to track this endpoint.
+     *
+     * @return the endpoint key
+     */
+    public String getKey() { return ip + ":" + port; }
+
+    /**
+     * Compares endpoints by address and port.
+     *
+     * @param other object to compare with
+     * @return true if both endpoints point at the same address and port
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ServerEndpoint)) {
+            return false;
+        }
+        ServerEndpoint that = (ServerEndpoint) other;
+        return port == that.port && Objects.equals(ip, that.ip);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(ip, port);
+    }
+}
@@ -1,9 +1,21 @@
 package com.dmvlab.swapserver.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 public class ServerEntry {
     private String name;
     private String ip;
     private int port;
+    private List<ServerEndpoint> endpoints;
+    private String selectionPolicy;
+    private Integer maxTransfersPerSecond;
+    private Integer transferBurst;
+    private Integer queryPort;
+    private List<String> fallbacks;
+    private List<String> tags;
 
     /**
      * Creates an empty server entry for serialization.
@@ -44,6 +56,136 @@ public class ServerEntry {
      */
     public int getPort() { return port; }
 
+    /**
+     * Checks whether this entry is a group that spreads players over several endpoints.
+     *
+     * @return true if additional endpoints are configured
+     */
+    public boolean isGroup() { return endpoints != null && !endpoints.isEmpty(); }
+
+    /**
+     * Returns every endpoint players can be sent to for this entry.
+     * Plain entries have a single endpoint built from their address and port.
+     *
+     * @return the endpoints of this entry
+     */
+    public List<ServerEndpoint> getEndpoints() {
+        if (isGroup()) {
+            return Collections.unmodifiableList(endpoints);
+        }
+        return Collections.singletonList(new ServerEndpoint(ip, port));
+    }
+
+    /**
+     * Returns the name of the policy used to pick an endpoint of a group.
+     *
+     * @return the policy name, or null for the default policy
+     */
+    public String getSelectionPolicy() { return selectionPolicy; }
+
+    /**
+     * Replaces the endpoints of this group.
+     *
+     * @param endpoints endpoints players can be sent to, or null for a plain entry
+     */
+    public void setEndpoints(List<ServerEndpoint> endpoints) {
+        this.endpoints = endpoints != null ? new ArrayList<>(endpoints) : null;
+    }
+
+    /**
+     * Updates the policy used to pick an endpoint of a group.
+     *
+     * @param selectionPolicy policy name such as "least_recent", "lowest_latency" or "fewest_transfers"
+     */
+    public void setSelectionPolicy(String selectionPolicy) { this.selectionPolicy = selectionPolicy; }
+
+    /**
+     * Returns how many players per second may be sent to this entry.
+     *
+     * @return the admission rate, or 0 if transfers are not limited
+     */
+    public int getMaxTransfersPerSecond() {
+        return maxTransfersPerSecond != null ? Math.max(0, maxTransfersPerSecond) : 0;
+    }
+
+    /**
+     * Returns how many players may be sent at once before the rate limit applies.
+     *
+     * @return the burst size, at least the per-second rate
+     */
+    public int getTransferBurst() {
+        int rate = getMaxTransfersPerSecond();
+        return transferBurst != null ? Math.max(Math.max(1, rate), transferBurst) : Math.max(1, rate);
+    }
+
+    /**
+     * Updates the admission rate for this entry.
+     *
+     * @param maxTransfersPerSecond players per second, or null/0 to disable the limit
+     */
+    public void setMaxTransfersPerSecond(Integer maxTransfersPerSecond) {
+        this.maxTransfersPerSecond = maxTransfersPerSecond;
+    }
+
+    /**
+     * Updates the burst size for this entry.
+     *
+     * @param transferBurst players that may be sent at once, or null for the per-second rate
+     */
+    public void setTransferBurst(Integer transferBurst) { this.transferBurst = transferBurst; }
+
+    /**
+     * Returns the port this entry answers population queries on.
+     *
+     * @return the query port, or 0 to use the configured default
+     */
+    public int getQueryPort() {
+        return queryPort != null ? Math.max(0, queryPort) : 0;
+    }
+
+    /**
+     * Updates the population query port of this entry.
+     *
+     * @param queryPort UDP port of the target's query responder, or null for the configured default
+     */
+    public void setQueryPort(Integer queryPort) { this.queryPort = queryPort; }
+
+    /**
+     * Returns the names of the entries to try, in order, when this one is down.
+     *
+     * @return the fallback names, empty if none are configured
+     */
+    public List<String> getFallbacks() {
+        return fallbacks != null ? Collections.unmodifiableList(fallbacks) : Collections.emptyList();
+    }
+
+    /**
+     * Replaces the failover chain of this entry.
+     *
+     * @param fallbacks names of other entries to try in order, or null for none
+     */
+    public void setFallbacks(List<String> fallbacks) {
+        this.fallbacks = fallbacks != null ? new ArrayList<>(fallbacks) : null;
+    }
+
+    /**
+     * Returns the categories this entry is listed under, such as "lobby" or "minigames".
+     *
+     * @return the tags, empty if none are configured
+     */
+    public List<String> getTags() {
+        return tags != null ? Collections.unmodifiableList(tags) : Collections.emptyList();
+    }
+
+    /**
+     * Replaces the categories of this entry.
+     *
+     * @param tags category names, or null for none
+     */
+    public void setTags(List<String> tags) {
+        this.tags = tags != null ? new ArrayList<>(tags) : null;
+    }
+
     /**
      * Updates the server display name.
      *
@@ -64,4 +206,38 @@ public class ServerEntry {
      * @param port new server port
      */
     public void setPort(int port) { this.port = port; }
+
+    /**
+     * Compares entries by name, address, port, endpoints, selection policy, admission limits, query port,
+     * fallbacks and tags.
+     *
+     * @param other object to compare with
+     * @return true if both entries point at the same named targets
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ServerEntry)) {
+            return false;
+        }
+        ServerEntry that = (ServerEntry) other;
+        return port == that.port && Objects.equals(name, that.name) && Objects.equals(ip, that.ip)
+                && Objects.equals(endpoints, that.endpoints) && Objects.equals(selectionPolicy, that.selectionPolicy)
+                && Objects.equals(maxTransfersPerSecond, that.maxTransfersPerSecond)
+                && Objects.equals(transferBurst, that.transferBurst) && Objects.equals(queryPort, that.queryPort)
+                && Objects.equals(fallbacks, that.fallbacks) && Objects.equals(tags, that.tags);
+    }
+
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, ip, port, endpoints, selectionPolicy, maxTransfersPerSecond, transferBurst,
+                queryPort, fallbacks, tags);
+    }
 }
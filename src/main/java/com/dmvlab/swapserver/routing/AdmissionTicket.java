@@ -0,0 +1,17 @@
+package com.dmvlab.swapserver.routing;
+
+public interface AdmissionTicket {
+    /**
+     * Called once when the queued player may be transferred.
+     * Runs on the admission timer thread, so implementations should hand work off.
+     */
+    void onAdmitted();
+
+    /**
+     * Called when the player's position in the queue changes.
+     * Runs on the admission timer thread, so implementations should hand work off.
+     *
+     * @param position one-based position in the queue
+     */
+    void onPositionChanged(int position);
+}
@@ -0,0 +1,34 @@
+package com.dmvlab.swapserver.routing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class EndpointCounters {
+    private final AtomicLong lastChosenNanos = new AtomicLong(Long.MIN_VALUE);
+    private final RecentCounter recentTransfers = new RecentCounter();
+
+    /**
+     * Records that a player was sent to this endpoint.
+     */
+    void recordChoice() {
+        lastChosenNanos.set(System.nanoTime());
+        recentTransfers.increment(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns when this endpoint was last chosen.
+     *
+     * @return the choice time from {@link System#nanoTime()}, or Long.MIN_VALUE if never chosen
+     */
+    public long getLastChosenNanos() {
+        return lastChosenNanos.get();
+    }
+
+    /**
+     * Returns the number of transfers to this endpoint during the last minute.
+     *
+     * @return the recent transfer count
+     */
+    public long getRecentTransfers() {
+        return recentTransfers.sum(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,90 @@
+package com.dmvlab.swapserver.routing;
+
+import com.dmvlab.swapserver.health.ServerStatus;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+public enum EndpointSelectionPolicy {
+    LEAST_RECENT("least_recent"),
+    LOWEST_LATENCY("lowest_latency"),
+    FEWEST_TRANSFERS("fewest_transfers");
+
+    private final String id;
+
+    EndpointSelectionPolicy(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the name used for this policy in servers.json.
+     *
+     * @return the policy id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Resolves a policy from its servers.json name.
+     *
+     * @param id policy id, case-insensitive
+     * @return the matching policy, or {@link #LEAST_RECENT} if unknown
+     */
+    public static EndpointSelectionPolicy fromId(String id) {
+        if (id != null) {
+            String normalized = id.trim().toLowerCase(Locale.ROOT);
+            for (EndpointSelectionPolicy policy : values()) {
+                if (policy.id.equals(normalized)) {
+                    return policy;
+                }
+            }
+        }
+        return LEAST_RECENT;
+    }
+
+    /**
+     * Picks the best candidate according to this policy. Ties keep the earlier candidate.
+     *
+     * @param candidates endpoints to choose from, never empty
+     * @param counters live counters per endpoint
+     * @param statuses cached health status per endpoint
+     * @return the chosen endpoint
+     */
+    ServerEndpoint select(List<ServerEndpoint> candidates, Function<ServerEndpoint, EndpointCounters> counters,
+            Function<ServerEndpoint, ServerStatus> statuses) {
+        ServerEndpoint best = null;
+        long bestScore = Long.MAX_VALUE;
+        for (ServerEndpoint candidate : candidates) {
+            long score = score(candidate, counters, statuses);
+            if (best == null || score < bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Computes the score of a candidate; lower is better.
+     *
+     * @param candidate endpoint to score
+     * @param counters live counters per endpoint
+     * @param statuses cached health status per endpoint
+     * @return the score
+     */
+    private long score(ServerEndpoint candidate, Function<ServerEndpoint, EndpointCounters> counters,
+            Function<ServerEndpoint, ServerStatus> statuses) {
+        switch (this) {
+            case LOWEST_LATENCY:
+                long rtt = statuses.apply(candidate).getRttMillis();
+                return rtt >= 0 ? rtt : Long.MAX_VALUE - 1;
+            case FEWEST_TRANSFERS:
+                return counters.apply(candidate).getRecentTransfers();
+            default:
+                return counters.apply(candidate).getLastChosenNanos();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dmvlab.swapserver.routing;
+
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EndpointSelector {
+    private final ServerHealthProber healthProber;
+    private final Map<String, EndpointCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a selector that skips endpoints the prober reports as offline.
+     *
+     * @param healthProber source of cached endpoint statuses
+     */
+    public EndpointSelector(ServerHealthProber healthProber) {
+        this.healthProber = healthProber;
+    }
+
+    /**
+     * Picks the endpoint a player should be sent to and records the choice.
+     * Offline endpoints are skipped unless every endpoint is offline.
+     *
+     * @param entry server entry or group selected by the player
+     * @return the chosen endpoint
+     */
+    public ServerEndpoint select(ServerEntry entry) {
+        List<ServerEndpoint> endpoints = entry.getEndpoints();
+        ServerEndpoint chosen;
+        if (endpoints.size() == 1) {
+            chosen = endpoints.get(0);
+        } else {
+            List<ServerEndpoint> candidates = new ArrayList<>(endpoints.size());
+            for (ServerEndpoint endpoint : endpoints) {
+                if (!healthProber.getStatus(endpoint).isOffline()) {
+                    candidates.add(endpoint);
+                }
+            }
+            if (candidates.isEmpty()) {
+                candidates = endpoints;
+            }
+            chosen = EndpointSelectionPolicy.fromId(entry.getSelectionPolicy())
+                    .select(candidates, this::getCounters, healthProber::getStatus);
+        }
+        getCounters(chosen).recordChoice();
+        return chosen;
+    }
+
+    /**
+     * Returns the live counters of an endpoint, creating them on first use.
+     *
+     * @param endpoint endpoint to look up
+     * @return the endpoint counters
+     */
+    public EndpointCounters getCounters(ServerEndpoint endpoint) {
+        return counters.computeIfAbsent(endpoint.getKey(), key -> new EndpointCounters());
+    }
+}
@@ -0,0 +1,61 @@
+package com.dmvlab.swapserver.routing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class RecentCounter {
+    private static final int BUCKET_COUNT = 6;
+    private static final long BUCKET_MILLIS = 10_000L;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1L;
+
+    /** Each slot packs a bucket's epoch in the high bits and its count in the low {@value #COUNT_BITS} bits. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Records one event at the given time. The epoch and count of a bucket change in one CAS, so an
+     * event counted right after the bucket rolls over is never wiped by the reset.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     */
+    void increment(long nowMillis) {
+        long epoch = nowMillis / BUCKET_MILLIS;
+        int bucket = (int) (epoch % BUCKET_COUNT);
+        while (true) {
+            long packed = buckets.get(bucket);
+            long bucketEpoch = packed >>> COUNT_BITS;
+            long next;
+            if (bucketEpoch == epoch) {
+                if ((packed & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                next = packed + 1L;
+            } else if (bucketEpoch < epoch) {
+                next = (epoch << COUNT_BITS) | 1L;
+            } else {
+                // A caller with an older clock reading lost a race with the rollover; its bucket is gone.
+                return;
+            }
+            if (buckets.compareAndSet(bucket, packed, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events recorded during the last minute.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @return the recent event count
+     */
+    long sum(long nowMillis) {
+        long epoch = nowMillis / BUCKET_MILLIS;
+        long total = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            long packed = buckets.get(bucket);
+            if (epoch - (packed >>> COUNT_BITS) < BUCKET_COUNT) {
+                total += packed & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
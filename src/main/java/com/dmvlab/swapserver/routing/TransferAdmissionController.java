@@ -0,0 +1,180 @@
+package com.dmvlab.swapserver.routing;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TransferAdmissionController {
+    public static final int ADMITTED = 0;
+
+    private static final long TICK_MILLIS = 250L;
+
+    private final Map<String, TargetQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Creates a controller whose queues are drained by a single timer thread.
+     */
+    public TransferAdmissionController() {
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SwapServer-Admission");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the timer that refills token buckets and admits queued players.
+     */
+    public void start() {
+        timer.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer. Players still queued are not admitted.
+     */
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Asks to transfer a player to the given entry.
+     * Players are admitted immediately while the entry's token bucket has tokens and nobody is
+     * waiting; otherwise they join the back of the entry's FIFO queue.
+     *
+     * @param entry target chosen by the player
+     * @param ticket callbacks for the queued player
+     * @return {@link #ADMITTED} if the transfer may start now, otherwise the one-based queue position
+     */
+    public int request(ServerEntry entry, AdmissionTicket ticket) {
+        int rate = entry.getMaxTransfersPerSecond();
+        if (rate <= 0) {
+            return ADMITTED;
+        }
+        String key = entry.getName().toLowerCase(Locale.ROOT);
+        while (true) {
+            TargetQueue queue = queues.computeIfAbsent(key, ignored -> new TargetQueue());
+            synchronized (queue) {
+                if (queue.retired) {
+                    continue;
+                }
+                queue.configure(rate, entry.getTransferBurst());
+                queue.refill(System.nanoTime());
+                if (queue.waiting.isEmpty() && queue.tokens >= 1.0) {
+                    queue.tokens -= 1.0;
+                    return ADMITTED;
+                }
+                queue.waiting.addLast(ticket);
+                return queue.waiting.size();
+            }
+        }
+    }
+
+    /**
+     * Removes a player from every queue, for example when the page is closed.
+     *
+     * @param ticket ticket passed to {@link #request(ServerEntry, AdmissionTicket)}
+     */
+    public void cancel(AdmissionTicket ticket) {
+        for (TargetQueue queue : queues.values()) {
+            synchronized (queue) {
+                queue.waiting.remove(ticket);
+            }
+        }
+    }
+
+    /**
+     * Gives back the token taken for an admitted player who can no longer be transferred, for example
+     * because they left while the admission was on its way to them.
+     *
+     * @param entry entry the player was admitted to
+     */
+    public void refund(ServerEntry entry) {
+        TargetQueue queue = queues.get(entry.getName().toLowerCase(Locale.ROOT));
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            queue.tokens = Math.min(queue.burst, queue.tokens + 1.0);
+        }
+    }
+
+    /**
+     * Refills every bucket, admits as many queued players as tokens allow and reports new positions.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        List<AdmissionTicket> admitted = new ArrayList<>();
+        List<AdmissionTicket> moved = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Iterator<Map.Entry<String, TargetQueue>> iterator = queues.entrySet().iterator();
+        while (iterator.hasNext()) {
+            TargetQueue queue = iterator.next().getValue();
+            synchronized (queue) {
+                queue.refill(now);
+                int released = 0;
+                while (queue.tokens >= 1.0 && !queue.waiting.isEmpty()) {
+                    queue.tokens -= 1.0;
+                    admitted.add(queue.waiting.pollFirst());
+                    released++;
+                }
+                if (released > 0) {
+                    int position = 1;
+                    for (AdmissionTicket ticket : queue.waiting) {
+                        moved.add(ticket);
+                        positions.add(position++);
+                    }
+                } else if (queue.waiting.isEmpty() && queue.tokens >= queue.burst) {
+                    queue.retired = true;
+                    iterator.remove();
+                }
+            }
+        }
+        for (AdmissionTicket ticket : admitted) {
+            try {
+                ticket.onAdmitted();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        for (int i = 0; i < moved.size(); i++) {
+            try {
+                moved.get(i).onPositionChanged(positions.get(i));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static final class TargetQueue {
+        private final ArrayDeque<AdmissionTicket> waiting = new ArrayDeque<>();
+        private double ratePerNano;
+        private double burst;
+        private double tokens = -1.0;
+        private long lastRefillNanos;
+        private boolean retired;
+
+        private void configure(int ratePerSecond, int burstSize) {
+            this.ratePerNano = ratePerSecond / 1_000_000_000.0;
+            this.burst = burstSize;
+        }
+
+        private void refill(long now) {
+            if (tokens < 0.0) {
+                tokens = burst;
+            } else {
+                tokens = Math.min(burst, tokens + (now - lastRefillNanos) * ratePerNano);
+            }
+            lastRefillNanos = now;
+        }
+    }
+}
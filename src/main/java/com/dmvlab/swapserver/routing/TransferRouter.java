@@ -0,0 +1,148 @@
+package com.dmvlab.swapserver.routing;
+
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.health.ServerStatus;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+public class TransferRouter {
+    private static final long DEFAULT_BUDGET_MILLIS = 1_500L;
+    private static final int DEFAULT_CHECK_TIMEOUT_MILLIS = 500;
+
+    private final ServerListManager serverManager;
+    private final ServerHealthProber healthProber;
+    private final long budgetMillis;
+    private final int checkTimeoutMillis;
+    private final ExecutorService routeExecutor;
+
+    /**
+     * Creates a router with the default 1.5 second budget.
+     *
+     * @param serverManager registry used to look up fallback entries
+     * @param healthProber prober used for the pre-flight checks
+     */
+    public TransferRouter(ServerListManager serverManager, ServerHealthProber healthProber) {
+        this(serverManager, healthProber, DEFAULT_BUDGET_MILLIS, DEFAULT_CHECK_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Creates a router with a custom time budget.
+     *
+     * @param serverManager registry used to look up fallback entries
+     * @param healthProber prober used for the pre-flight checks
+     * @param budgetMillis maximum time spent checking one request's targets
+     * @param checkTimeoutMillis maximum wait for a single endpoint check
+     */
+    public TransferRouter(ServerListManager serverManager, ServerHealthProber healthProber, long budgetMillis,
+            int checkTimeoutMillis) {
+        this.serverManager = serverManager;
+        this.healthProber = healthProber;
+        this.budgetMillis = budgetMillis;
+        this.checkTimeoutMillis = checkTimeoutMillis;
+        this.routeExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("SwapServer-Route-", 0).factory());
+    }
+
+    /**
+     * Picks the first live entry of the target's failover chain on a virtual thread.
+     * The chain is the target followed by its fallbacks, in order. If the budget runs out before a
+     * live entry is confirmed, the first entry that could not be checked is used.
+     *
+     * @param target entry chosen by the player
+     * @return a future completed with the entry to send the player to, or null if every entry is down
+     */
+    public CompletableFuture<ServerEntry> route(ServerEntry target) {
+        try {
+            return CompletableFuture.supplyAsync(() -> pickLive(target), routeExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Stops any route still being checked.
+     */
+    public void close() {
+        routeExecutor.shutdownNow();
+    }
+
+    /**
+     * Walks the failover chain within the time budget.
+     *
+     * @param target entry chosen by the player
+     * @return the first live entry, an unchecked entry if the budget ran out, or null
+     */
+    private ServerEntry pickLive(ServerEntry target) {
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        ServerEntry unchecked = null;
+        for (ServerEntry candidate : chain(target)) {
+            Boolean live = isLive(candidate, deadline);
+            if (live == null) {
+                if (unchecked == null) {
+                    unchecked = candidate;
+                }
+            } else if (live) {
+                return candidate;
+            }
+        }
+        return unchecked;
+    }
+
+    /**
+     * Builds the failover chain of an entry, skipping missing and repeated names.
+     *
+     * @param target entry chosen by the player
+     * @return the target followed by its existing fallbacks
+     */
+    private List<ServerEntry> chain(ServerEntry target) {
+        List<ServerEntry> chain = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        chain.add(target);
+        seen.add(target.getName().toLowerCase(Locale.ROOT));
+        for (String name : target.getFallbacks()) {
+            ServerEntry fallback = serverManager.findServerByName(name).orElse(null);
+            if (fallback != null && seen.add(fallback.getName().toLowerCase(Locale.ROOT))) {
+                chain.add(fallback);
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Checks the endpoints of an entry, those not known to be offline first, until one answers.
+     *
+     * @param entry entry to check
+     * @param deadline end of the budget in epoch milliseconds
+     * @return true if an endpoint answered, false if all failed, or null if the budget ran out or a host
+     *         lookup did not finish before any endpoint answered
+     */
+    private Boolean isLive(ServerEntry entry, long deadline) {
+        List<ServerEndpoint> endpoints = new ArrayList<>(entry.getEndpoints());
+        endpoints.sort((a, b) -> Boolean.compare(healthProber.getStatus(a).isOffline(),
+                healthProber.getStatus(b).isOffline()));
+        boolean unchecked = false;
+        for (ServerEndpoint endpoint : endpoints) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            ServerStatus status = healthProber.preflight(endpoint, (int) Math.min(remaining, checkTimeoutMillis));
+            if (status.isOnline()) {
+                return true;
+            }
+            unchecked |= status.getState() == ServerStatus.State.UNKNOWN;
+        }
+        return unchecked ? null : false;
+    }
+}
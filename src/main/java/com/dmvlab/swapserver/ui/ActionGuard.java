@@ -0,0 +1,61 @@
+package com.dmvlab.swapserver.ui;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-page filter for repeated clicks. Only the page's world thread uses it, so it keeps plain
+ * fields and allocates nothing per event.
+ */
+final class ActionGuard {
+    static final long DUPLICATE_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    enum Action {
+        JOIN,
+        ADD,
+        DELETE
+    }
+
+    private Action lastAction;
+    private String lastKey;
+    private long lastAtNanos;
+    private boolean terminal;
+
+    /**
+     * Accepts an action unless the page is terminal or the same action on the same key was accepted
+     * within the duplicate window.
+     *
+     * @param action kind of action
+     * @param key server name the action applies to, compared case-insensitively
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return true if the action should run
+     */
+    boolean tryAccept(Action action, String key, long nowNanos) {
+        if (terminal) {
+            return false;
+        }
+        if (action == lastAction && nowNanos - lastAtNanos < DUPLICATE_WINDOW_NANOS
+                && (key == null ? lastKey == null : key.equalsIgnoreCase(lastKey))) {
+            return false;
+        }
+        lastAction = action;
+        lastKey = key;
+        lastAtNanos = nowNanos;
+        return true;
+    }
+
+    /**
+     * Marks the page as done, e.g. once a transfer has been requested. Every later action is rejected.
+     */
+    void markTerminal() {
+        terminal = true;
+    }
+
+    /**
+     * Checks whether the page stopped accepting actions.
+     *
+     * @return true after {@link #markTerminal()}
+     */
+    boolean isTerminal() {
+        return terminal;
+    }
+}
@@ -0,0 +1,229 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.health.ServerPopulation;
+import com.dmvlab.swapserver.health.ServerStatus;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ServerListRender {
+    static final String SERVER_LIST_SELECTOR = "#ServerList";
+    static final String PAGE_LABEL_SELECTOR = "#PageLabel.Text";
+    static final String ENTRY_UI_PATH = "Pages/entry.ui";
+    static final String ADMIN_ENTRY_UI_PATH = "Pages/entry_admin.ui";
+
+    private static final byte CLEAR = 0;
+    private static final byte APPEND = 1;
+    private static final byte APPEND_INLINE = 2;
+    private static final byte SET = 3;
+
+    private final long version;
+    private final long statusVersion;
+    private final byte[] commandKinds;
+    private final String[] commandSelectors;
+    private final String[] commandValues;
+    private final String[] bindingSelectors;
+    private final EventData[] bindingData;
+
+    private ServerListRender(long version, long statusVersion, Recorder recorder) {
+        this.version = version;
+        this.statusVersion = statusVersion;
+        int commandCount = recorder.commandKinds.size();
+        this.commandKinds = new byte[commandCount];
+        for (int i = 0; i < commandCount; i++) {
+            commandKinds[i] = recorder.commandKinds.get(i);
+        }
+        this.commandSelectors = recorder.commandSelectors.toArray(new String[0]);
+        this.commandValues = recorder.commandValues.toArray(new String[0]);
+        this.bindingSelectors = recorder.bindingSelectors.toArray(new String[0]);
+        this.bindingData = recorder.bindingData.toArray(new EventData[0]);
+    }
+
+    /**
+     * Renders the visible rows, their join/delete bindings and the page label.
+     *
+     * @param view rows and paging information to render
+     * @param healthProber source of cached server statuses
+     * @param i18nManager manager for localized labels
+     * @param isAdmin whether admin-only controls should be added
+     * @return the recorded command and binding sequence
+     */
+    public static ServerListRender render(ServerListView view, ServerHealthProber healthProber,
+            I18nManager i18nManager, boolean isAdmin) {
+        long statusVersion = healthProber.getStatusVersion();
+        Recorder recorder = new Recorder();
+        recorder.command(CLEAR, SERVER_LIST_SELECTOR, null);
+        String entryTemplatePath = isAdmin ? ADMIN_ENTRY_UI_PATH : ENTRY_UI_PATH;
+        String joinLabel = i18nManager.translate("ui_join");
+        String noServersLabel = i18nManager.translate("ui_no_servers");
+
+        int index = 0;
+        for (ServerEntry entry : view.getRows()) {
+            String entrySelector = rowSelector(index);
+            recorder.command(APPEND, SERVER_LIST_SELECTOR, entryTemplatePath);
+            recorder.command(SET, entrySelector + " #ServerName.Text", entry.getName());
+            recorder.command(SET, entrySelector + " #ServerStatus.Text",
+                    statusLabel(i18nManager, healthProber.getStatus(entry), isAdmin));
+            recorder.command(SET, entrySelector + " #ServerPlayers.Text",
+                    populationLabel(i18nManager, healthProber.getPopulation(entry)));
+            recorder.command(SET, entrySelector + " #JoinButton.Text", joinLabel);
+            recorder.binding(entrySelector + " #JoinButton", EventData.of("ServerName", entry.getName()));
+
+            if (isAdmin) {
+                recorder.binding(entrySelector + " #DeleteButton", EventData.of("DeleteServerName", entry.getName()));
+            }
+
+            index++;
+        }
+
+        if (index == 0) {
+            recorder.command(APPEND_INLINE, SERVER_LIST_SELECTOR, noServersMarkup(noServersLabel));
+        }
+        recorder.command(SET, PAGE_LABEL_SELECTOR, pageLabel(i18nManager, view));
+        return new ServerListRender(view.getVersion(), statusVersion, recorder);
+    }
+
+    /**
+     * Returns the selector of a row in the server list.
+     *
+     * @param index zero-based row index
+     * @return the row selector
+     */
+    static String rowSelector(int index) {
+        return SERVER_LIST_SELECTOR + "[" + index + "]";
+    }
+
+    /**
+     * Returns the localized label for a server status.
+     *
+     * @param i18nManager manager for localized labels
+     * @param status cached server status
+     * @param isAdmin whether the viewer sees admin controls; only admins are told a host does not resolve
+     * @return the label shown next to the server name
+     */
+    static String statusLabel(I18nManager i18nManager, ServerStatus status, boolean isAdmin) {
+        if (status.isOnline()) {
+            return i18nManager.translate("ui_status_online", String.valueOf(status.displayRttMillis()));
+        }
+        if (status.isUnresolved() && isAdmin) {
+            return i18nManager.translate("ui_status_unresolved");
+        }
+        if (status.isOffline()) {
+            return i18nManager.translate("ui_status_offline");
+        }
+        return i18nManager.translate("ui_status_unknown");
+    }
+
+    /**
+     * Returns the localized player count label.
+     *
+     * @param i18nManager manager for localized labels
+     * @param population cached server population
+     * @return "players / capacity", only the players if there is no limit, or an empty label if unknown
+     */
+    static String populationLabel(I18nManager i18nManager, ServerPopulation population) {
+        if (!population.isKnown()) {
+            return "";
+        }
+        if (population.getCapacity() <= 0) {
+            return i18nManager.translate("ui_players_unlimited", String.valueOf(population.getPlayers()));
+        }
+        return i18nManager.translate("ui_players", String.valueOf(population.getPlayers()),
+                String.valueOf(population.getCapacity()));
+    }
+
+    /**
+     * Returns the localized "page x / y" label.
+     *
+     * @param i18nManager manager for localized labels
+     * @param view rendered view
+     * @return the page label
+     */
+    static String pageLabel(I18nManager i18nManager, ServerListView view) {
+        return i18nManager.translate("ui_page", String.valueOf(view.getPageIndex() + 1),
+                String.valueOf(view.getPageCount()));
+    }
+
+    /**
+     * Returns the inline markup shown when the list is empty.
+     *
+     * @param noServersLabel localized empty-list label
+     * @return the label markup
+     */
+    static String noServersMarkup(String noServersLabel) {
+        return "Label { Text: \"" + noServersLabel + "\"; Style: (Alignment: Center); }";
+    }
+
+    /**
+     * Returns the registry version this render was produced from.
+     *
+     * @return the registry version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the health status version this render was produced from.
+     *
+     * @return the status version
+     */
+    public long getStatusVersion() {
+        return statusVersion;
+    }
+
+    /**
+     * Replays the recorded commands and bindings into the given builders.
+     *
+     * @param commandBuilder builder used to compose UI commands
+     * @param eventBuilder builder used to bind UI events
+     */
+    public void replay(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
+        for (int i = 0; i < commandKinds.length; i++) {
+            switch (commandKinds[i]) {
+                case CLEAR:
+                    commandBuilder.clear(commandSelectors[i]);
+                    break;
+                case APPEND:
+                    commandBuilder.append(commandSelectors[i], commandValues[i]);
+                    break;
+                case APPEND_INLINE:
+                    commandBuilder.appendInline(commandSelectors[i], commandValues[i]);
+                    break;
+                default:
+                    commandBuilder.set(commandSelectors[i], commandValues[i]);
+                    break;
+            }
+        }
+        for (int i = 0; i < bindingSelectors.length; i++) {
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, bindingSelectors[i], bindingData[i],
+                    false);
+        }
+    }
+
+    private static final class Recorder {
+        private final List<Byte> commandKinds = new ArrayList<>();
+        private final List<String> commandSelectors = new ArrayList<>();
+        private final List<String> commandValues = new ArrayList<>();
+        private final List<String> bindingSelectors = new ArrayList<>();
+        private final List<EventData> bindingData = new ArrayList<>();
+
+        private void command(byte kind, String selector, String value) {
+            commandKinds.add(kind);
+            commandSelectors.add(selector);
+            commandValues.add(value);
+        }
+
+        private void binding(String selector, EventData data) {
+            bindingSelectors.add(selector);
+            bindingData.add(data);
+        }
+    }
+}
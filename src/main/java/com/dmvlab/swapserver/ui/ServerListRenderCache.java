@@ -0,0 +1,118 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.i18n.I18nManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ServerListRenderCache {
+    private final ServerHealthProber healthProber;
+    private final Map<I18nManager, Map<PageKey, ServerListRender>> playerRenders = new ConcurrentHashMap<>();
+    private final Map<I18nManager, Map<PageKey, ServerListRender>> adminRenders = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty render cache.
+     *
+     * @param healthProber source of cached server statuses shown in each row
+     */
+    public ServerListRenderCache(ServerHealthProber healthProber) {
+        this.healthProber = healthProber;
+    }
+
+    /**
+     * Returns the render for a view. Pages in list order are cached by locale, role, category and page and
+     * replaced once the registry or status version changes; filtered and sorted views are rendered directly.
+     *
+     * @param view rows and paging information to render
+     * @param filtered whether the view was produced by a name filter or a sort order
+     * @param i18nManager locale of the viewer
+     * @param isAdmin whether the viewer sees admin controls
+     * @return the render matching the view
+     */
+    public ServerListRender get(ServerListView view, boolean filtered, I18nManager i18nManager, boolean isAdmin) {
+        if (filtered) {
+            return ServerListRender.render(view, healthProber, i18nManager, isAdmin);
+        }
+        return get(view, i18nManager, isAdmin);
+    }
+
+    /**
+     * Returns the cached render for an unfiltered view, rendering it if needed.
+     *
+     * @param view unfiltered rows and paging information
+     * @param i18nManager locale of the viewer
+     * @param isAdmin whether the viewer sees admin controls
+     * @return the render matching the view
+     */
+    private ServerListRender get(ServerListView view, I18nManager i18nManager, boolean isAdmin) {
+        Map<PageKey, ServerListRender> renders = (isAdmin ? adminRenders : playerRenders)
+                .computeIfAbsent(i18nManager, key -> new ConcurrentHashMap<>());
+        PageKey pageKey = new PageKey(view.getCategory(), view.getPageIndex());
+        ServerListRender cached = renders.get(pageKey);
+        long statusVersion = healthProber.getStatusVersion();
+        if (cached != null && cached.getVersion() == view.getVersion()
+                && cached.getStatusVersion() == statusVersion) {
+            return cached;
+        }
+        ServerListRender rendered = ServerListRender.render(view, healthProber, i18nManager, isAdmin);
+        renders.merge(pageKey, rendered, ServerListRenderCache::newest);
+        return rendered;
+    }
+
+    /**
+     * Picks the more recent of two renders for the same locale, role, category and page.
+     *
+     * @param current render already cached
+     * @param candidate freshly produced render
+     * @return the render built from the newer registry and status versions
+     */
+    private static ServerListRender newest(ServerListRender current, ServerListRender candidate) {
+        if (current.getVersion() != candidate.getVersion()) {
+            return current.getVersion() > candidate.getVersion() ? current : candidate;
+        }
+        return current.getStatusVersion() >= candidate.getStatusVersion() ? current : candidate;
+    }
+
+    /**
+     * Identifies one cached page: a category, or every entry, and a page index.
+     */
+    private static final class PageKey {
+        private final String category;
+        private final int pageIndex;
+
+        private PageKey(String category, int pageIndex) {
+            this.category = category;
+            this.pageIndex = pageIndex;
+        }
+
+        /**
+         * Compares keys by category and page.
+         *
+         * @param other object to compare with
+         * @return true if both keys name the same page
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PageKey)) {
+                return false;
+            }
+            PageKey that = (PageKey) other;
+            return pageIndex == that.pageIndex && Objects.equals(category, that.category);
+        }
+
+        /**
+         * Returns a hash code consistent with {@link #equals(Object)}.
+         *
+         * @return the hash code
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, pageIndex);
+        }
+    }
+}
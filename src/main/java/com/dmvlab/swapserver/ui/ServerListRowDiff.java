@@ -0,0 +1,113 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class ServerListRowDiff {
+    private ServerListRowDiff() {}
+
+    /**
+     * Writes the row-level commands that turn the displayed rows into the current ones.
+     * Supports removed rows, relabeled rows and rows appended at the end; anything else
+     * (reorders, empty lists, large rewrites) needs a full refresh. Kept rows get their status and
+     * population labels again when statuses changed since they were shown.
+     *
+     * @param before rows currently shown to the viewer
+     * @param after rows that should be shown
+     * @param statusesChanged whether server statuses changed since the rows were shown
+     * @param isAdmin whether the viewer sees admin controls
+     * @param healthProber source of cached statuses and populations
+     * @param i18nManager manager for localized labels
+     * @param commandBuilder builder receiving UI commands
+     * @param eventBuilder builder receiving event bindings
+     * @return true if the update was written, false if a full refresh is required
+     */
+    public static boolean write(List<ServerEntry> before, List<ServerEntry> after, boolean statusesChanged,
+            boolean isAdmin, ServerHealthProber healthProber, I18nManager i18nManager,
+            UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
+        if (before.isEmpty() || after.isEmpty()) {
+            return false;
+        }
+
+        Map<String, ServerEntry> afterByKey = new HashMap<>(after.size() * 2);
+        for (ServerEntry entry : after) {
+            afterByKey.put(key(entry), entry);
+        }
+
+        List<Integer> removedRows = new ArrayList<>();
+        List<ServerEntry> kept = new ArrayList<>();
+        for (int i = 0; i < before.size(); i++) {
+            ServerEntry entry = before.get(i);
+            if (afterByKey.containsKey(key(entry))) {
+                kept.add(entry);
+            } else {
+                removedRows.add(i);
+            }
+        }
+        if (kept.size() > after.size()) {
+            return false;
+        }
+        for (int i = 0; i < kept.size(); i++) {
+            if (!key(kept.get(i)).equals(key(after.get(i)))) {
+                return false;
+            }
+        }
+        int appendedRows = after.size() - kept.size();
+        if (removedRows.size() + appendedRows > Math.max(4, after.size() / 2)) {
+            return false;
+        }
+
+        for (int i = removedRows.size() - 1; i >= 0; i--) {
+            commandBuilder.remove(ServerListRender.rowSelector(removedRows.get(i)));
+        }
+        for (int i = 0; i < kept.size(); i++) {
+            ServerEntry entry = after.get(i);
+            String entrySelector = ServerListRender.rowSelector(i);
+            if (!entry.getName().equals(kept.get(i).getName())) {
+                commandBuilder.set(entrySelector + " #ServerName.Text", entry.getName());
+            }
+            if (statusesChanged) {
+                commandBuilder.set(entrySelector + " #ServerStatus.Text",
+                        ServerListRender.statusLabel(i18nManager, healthProber.getStatus(entry), isAdmin));
+                commandBuilder.set(entrySelector + " #ServerPlayers.Text",
+                        ServerListRender.populationLabel(i18nManager, healthProber.getPopulation(entry)));
+            }
+        }
+        String entryTemplatePath = isAdmin ? ServerListRender.ADMIN_ENTRY_UI_PATH : ServerListRender.ENTRY_UI_PATH;
+        String joinLabel = appendedRows > 0 ? i18nManager.translate("ui_join") : null;
+        for (int i = kept.size(); i < after.size(); i++) {
+            ServerEntry entry = after.get(i);
+            String name = entry.getName();
+            String entrySelector = ServerListRender.rowSelector(i);
+            commandBuilder.append(ServerListRender.SERVER_LIST_SELECTOR, entryTemplatePath);
+            commandBuilder.set(entrySelector + " #ServerName.Text", name);
+            commandBuilder.set(entrySelector + " #ServerStatus.Text",
+                    ServerListRender.statusLabel(i18nManager, healthProber.getStatus(entry), isAdmin));
+            commandBuilder.set(entrySelector + " #ServerPlayers.Text",
+                    ServerListRender.populationLabel(i18nManager, healthProber.getPopulation(entry)));
+            commandBuilder.set(entrySelector + " #JoinButton.Text", joinLabel);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, entrySelector + " #JoinButton",
+                    EventData.of("ServerName", name), false);
+            if (isAdmin) {
+                eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, entrySelector + " #DeleteButton",
+                        EventData.of("DeleteServerName", name), false);
+            }
+        }
+        return true;
+    }
+
+    private static String key(ServerEntry entry) {
+        return entry.getName().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,183 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.dmvlab.swapserver.manager.ServerTagIndex;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+public final class ServerListView {
+    public static final int PAGE_SIZE = 20;
+
+    private final long version;
+    private final String category;
+    private final List<ServerEntry> rows;
+    private final int pageIndex;
+    private final int pageCount;
+
+    private ServerListView(long version, String category, List<ServerEntry> rows, int pageIndex, int pageCount) {
+        this.version = version;
+        this.category = category;
+        this.rows = Collections.unmodifiableList(rows);
+        this.pageIndex = pageIndex;
+        this.pageCount = pageCount;
+    }
+
+    /**
+     * Selects the rows visible on one page of the list, optionally filtered by name.
+     * Only the visible rows are materialized; the filter is answered by the snapshot's name index.
+     *
+     * @param snapshot registry snapshot to read from
+     * @param filter name filter, or null/empty for every entry
+     * @param requestedPage zero-based page, clamped to the available pages
+     * @return the visible rows and paging information
+     */
+    public static ServerListView select(ServerRegistrySnapshot snapshot, String filter, int requestedPage) {
+        return select(snapshot, filter, requestedPage, null);
+    }
+
+    /**
+     * Selects the rows visible on one page of the list in the given order, optionally filtered by name.
+     *
+     * @param snapshot registry snapshot to read from
+     * @param filter name filter, or null/empty for every entry
+     * @param requestedPage zero-based page, clamped to the available pages
+     * @param order entry indexes in display order, or null for list order
+     * @return the visible rows and paging information
+     */
+    public static ServerListView select(ServerRegistrySnapshot snapshot, String filter, int requestedPage,
+            int[] order) {
+        return select(snapshot, null, filter, requestedPage, order);
+    }
+
+    /**
+     * Selects the rows of one category visible on one page of the list in the given order, optionally
+     * filtered by name. The category's entries come precomputed from the snapshot's tag index, so only
+     * the category and the visible rows are visited.
+     *
+     * @param snapshot registry snapshot to read from
+     * @param category tag whose entries to show, or null for every entry
+     * @param filter name filter, or null/empty for every entry
+     * @param requestedPage zero-based page, clamped to the available pages
+     * @param order entry indexes in display order, or null for list order
+     * @return the visible rows and paging information
+     */
+    public static ServerListView select(ServerRegistrySnapshot snapshot, String category, String filter,
+            int requestedPage, int[] order) {
+        List<ServerEntry> entries = snapshot.getEntries();
+        String categoryKey = ServerTagIndex.tagKey(category);
+        boolean filtered = filter != null && !filter.trim().isEmpty();
+        int[] indexes = categoryKey != null ? snapshot.getTagIndex().getPositions(categoryKey) : null;
+        if (filtered) {
+            int[] matches = snapshot.getNameIndex().search(filter);
+            indexes = indexes != null ? intersect(matches, indexes) : matches;
+        }
+        if (order != null) {
+            indexes = indexes != null ? reorder(indexes, order) : order;
+        }
+        int total = indexes != null ? indexes.length : entries.size();
+        int pageCount = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+        int pageIndex = Math.max(0, Math.min(requestedPage, pageCount - 1));
+        int from = pageIndex * PAGE_SIZE;
+        int to = Math.min(total, from + PAGE_SIZE);
+
+        List<ServerEntry> rows = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            rows.add(entries.get(indexes != null ? indexes[i] : i));
+        }
+        return new ServerListView(snapshot.getVersion(), categoryKey, rows, pageIndex, pageCount);
+    }
+
+    /**
+     * Keeps the filter matches that belong to a category.
+     *
+     * @param matches matching entry indexes
+     * @param category entry indexes of the category
+     * @return the matches in the category, in match order
+     */
+    private static int[] intersect(int[] matches, int[] category) {
+        BitSet inCategory = new BitSet();
+        for (int index : category) {
+            inCategory.set(index);
+        }
+        int[] kept = new int[Math.min(matches.length, category.length)];
+        int count = 0;
+        for (int match : matches) {
+            if (inCategory.get(match)) {
+                kept[count++] = match;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    /**
+     * Puts filter matches in display order.
+     *
+     * @param matches matching entry indexes
+     * @param order every entry index in display order
+     * @return the matches in display order
+     */
+    private static int[] reorder(int[] matches, int[] order) {
+        BitSet matching = new BitSet();
+        for (int match : matches) {
+            matching.set(match);
+        }
+        int[] reordered = new int[matches.length];
+        int count = 0;
+        for (int index : order) {
+            if (matching.get(index)) {
+                reordered[count++] = index;
+            }
+        }
+        return reordered;
+    }
+
+    /**
+     * Returns the registry version the rows were selected from.
+     *
+     * @return the registry version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the category the rows were selected from.
+     *
+     * @return the case-folded tag, or null if every entry was eligible
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the visible rows in display order.
+     *
+     * @return an unmodifiable list of entries
+     */
+    public List<ServerEntry> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the zero-based index of the shown page.
+     *
+     * @return the page index
+     */
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    /**
+     * Returns the number of pages available.
+     *
+     * @return the page count, at least one
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+}
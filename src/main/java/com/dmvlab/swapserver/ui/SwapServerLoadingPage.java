@@ -0,0 +1,59 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Page shown by {@code /sws} while the server list is still loading, or after it failed to load. It only
+ * shows the title and a status line and binds no events; {@link SwapServerPageOpener} replaces it with the
+ * menu once the list is ready.
+ */
+public class SwapServerLoadingPage extends InteractiveCustomUIPage<SwapServerLoadingPage.LoadingEventData> {
+    private static final String LOADING_UI_PATH = "Pages/swap_server_loading.ui";
+
+    private final I18nManager i18nManager;
+    private final boolean failed;
+
+    /**
+     * Creates the loading page for the given player.
+     *
+     * @param playerRef the player reference used to target updates
+     * @param i18nManager manager for localized messages
+     * @param failed whether to show that the list could not be loaded instead of the loading line
+     */
+    public SwapServerLoadingPage(PlayerRef playerRef, I18nManager i18nManager, boolean failed) {
+        super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, LoadingEventData.CODEC);
+        this.i18nManager = i18nManager;
+        this.failed = failed;
+    }
+
+    /**
+     * Builds the loading layout.
+     *
+     * @param ref reference to the entity store
+     * @param commandBuilder builder used to compose UI commands
+     * @param eventBuilder builder used to bind UI events
+     * @param store entity component store
+     */
+    @Override
+    public void build(Ref<EntityStore> ref, UICommandBuilder commandBuilder, UIEventBuilder eventBuilder,
+            Store<EntityStore> store) {
+        commandBuilder.append(LOADING_UI_PATH);
+        commandBuilder.set("#Title.Text", i18nManager.translate("ui_title"));
+        commandBuilder.set("#LoadingLabel.Text", i18nManager.translate(failed ? "ui_load_failed" : "ui_loading"));
+    }
+
+    public static class LoadingEventData {
+        public static final BuilderCodec<LoadingEventData> CODEC = BuilderCodec
+                .builder(LoadingEventData.class, LoadingEventData::new)
+                .build();
+    }
+}
@@ -1,8 +1,19 @@
 package com.dmvlab.swapserver.ui;
 
+import com.dmvlab.swapserver.SwapServerServices;
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
 import com.dmvlab.swapserver.i18n.I18nManager;
 import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.dmvlab.swapserver.manager.ServerTagIndex;
+import com.dmvlab.swapserver.metrics.PluginTimer;
+import com.dmvlab.swapserver.model.ServerEndpoint;
 import com.dmvlab.swapserver.model.ServerEntry;
+import com.dmvlab.swapserver.routing.AdmissionTicket;
+import com.dmvlab.swapserver.routing.EndpointSelector;
+import com.dmvlab.swapserver.routing.TransferAdmissionController;
+import com.dmvlab.swapserver.routing.TransferRouter;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
@@ -18,33 +29,74 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapServerPageEventData> {
     private static final String HUD_UI_PATH = "Pages/swap_server_hud.ui";
     private static final String ADMIN_HUD_UI_PATH = "Pages/swap_server_hud_admin.ui";
-    private static final String ENTRY_UI_PATH = "Pages/entry.ui";
-    private static final String ADMIN_ENTRY_UI_PATH = "Pages/entry_admin.ui";
     private static final String ADD_SERVER_UI_PATH = "Pages/add_server.ui";
     private static final int DEFAULT_SERVER_PORT = 5520;
+    private static final String PAGE_PREVIOUS = "prev";
+    private static final String PAGE_NEXT = "next";
+    private static final String PAGE_SORT = "sort";
+    private static final String PAGE_ALL_CATEGORIES = "all";
+    private static final String CATEGORY_TABS_SELECTOR = "#CategoryTabs";
+    private static final String CATEGORY_TAB_UI_PATH = "Pages/category_tab.ui";
+    private static final String SELECTED_CATEGORY_TAB_UI_PATH = "Pages/category_tab_selected.ui";
+    private static final int MAX_CATEGORY_TABS = 5;
 
     private final ServerListManager serverManager;
+    private final ServerListRenderCache renderCache;
+    private final SwapServerPageRegistry pageRegistry;
+    private final ServerHealthProber healthProber;
+    private final HostResolver hostResolver;
+    private final EndpointSelector endpointSelector;
+    private final TransferAdmissionController admissionController;
+    private final TransferRouter transferRouter;
     private final I18nManager i18nManager;
+    private final UUID playerUuid;
+    private final AtomicBoolean listUpdateScheduled = new AtomicBoolean();
+    private final ActionGuard actionGuard = new ActionGuard();
+    private volatile World world;
+    private boolean isAdmin;
+    private int pageIndex;
+    private String filter = "";
+    private boolean sortByPopulation;
+    private String category;
+    private List<String> displayedTabs;
+    private ServerListView displayedView;
+    private long displayedStatusVersion;
+    private volatile QueuedJoin queuedJoin;
+    private ServerEntry routingTarget;
+    private boolean clearAddFormPending;
 
     /**
      * Creates the swap server UI page for the given player.
      *
      * @param playerRef the player reference used to target updates
-     * @param serverManager manager for the server list
+     * @param services shared plugin services
      * @param i18nManager manager for localized messages
      */
-    public SwapServerPage(PlayerRef playerRef, ServerListManager serverManager, I18nManager i18nManager) {
+    public SwapServerPage(PlayerRef playerRef, SwapServerServices services, I18nManager i18nManager) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, SwapServerPageEventData.CODEC);
-        this.serverManager = serverManager;
+        this.serverManager = services.getServerManager();
+        this.renderCache = services.getRenderCache();
+        this.pageRegistry = services.getPageRegistry();
+        this.healthProber = services.getHealthProber();
+        this.hostResolver = services.getHostResolver();
+        this.endpointSelector = services.getEndpointSelector();
+        this.admissionController = services.getAdmissionController();
+        this.transferRouter = services.getTransferRouter();
         this.i18nManager = i18nManager;
+        this.playerUuid = playerRef.getUuid();
     }
 
     /**
@@ -58,24 +110,135 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
     @Override
     public void build(Ref<EntityStore> ref, UICommandBuilder commandBuilder, UIEventBuilder eventBuilder,
             Store<EntityStore> store) {
-        Player player = store.getComponent(ref, Player.getComponentType());
-        boolean isAdmin = player != null && player.hasPermission("swapserver.admin");
-        commandBuilder.append(isAdmin ? ADMIN_HUD_UI_PATH : HUD_UI_PATH);
-        commandBuilder.clear("#AddServer");
-        commandBuilder.set("#Title.Text", i18nManager.translate("ui_title"));
-
-        if (isAdmin) {
-            commandBuilder.append("#AddServer", ADD_SERVER_UI_PATH);
-            commandBuilder.set("#NewServerName.PlaceholderText", i18nManager.translate("ui_placeholder_name"));
-            commandBuilder.set("#NewServerIp.PlaceholderText", i18nManager.translate("ui_placeholder_ip"));
-            commandBuilder.set("#AddButton.Text", i18nManager.translate("ui_add"));
-            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#AddButton",
-                    new EventData().append("@NewServerName", "#NewServerName.Value").append("@NewServerIp",
-                            "#NewServerIp.Value"),
-                    false);
+        long startNanos = System.nanoTime();
+        try {
+            Player player = store.getComponent(ref, Player.getComponentType());
+            isAdmin = player != null && player.hasPermission("swapserver.admin");
+            EntityStore entityStore = store.getExternalData();
+            world = entityStore != null ? entityStore.getWorld() : null;
+            commandBuilder.append(isAdmin ? ADMIN_HUD_UI_PATH : HUD_UI_PATH);
+            commandBuilder.clear("#AddServer");
+            commandBuilder.set("#Title.Text", i18nManager.translate("ui_title"));
+            commandBuilder.set("#FilterField.PlaceholderText", i18nManager.translate("ui_placeholder_search"));
+            eventBuilder.addEventBinding(CustomUIEventBindingType.ValueChanged, "#FilterField",
+                    new EventData().append("@Filter", "#FilterField.Value"), false);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#PrevButton",
+                    EventData.of("PageAction", PAGE_PREVIOUS), false);
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#NextButton",
+                    EventData.of("PageAction", PAGE_NEXT), false);
+            commandBuilder.set("#SortButton.Text", sortLabel());
+            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#SortButton",
+                    EventData.of("PageAction", PAGE_SORT), false);
+
+            if (isAdmin) {
+                commandBuilder.append("#AddServer", ADD_SERVER_UI_PATH);
+                commandBuilder.set("#NewServerName.PlaceholderText", i18nManager.translate("ui_placeholder_name"));
+                commandBuilder.set("#NewServerIp.PlaceholderText", i18nManager.translate("ui_placeholder_ip"));
+                commandBuilder.set("#AddButton.Text", i18nManager.translate("ui_add"));
+                eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, "#AddButton",
+                        new EventData().append("@NewServerName", "#NewServerName.Value").append("@NewServerIp",
+                                "#NewServerIp.Value"),
+                        false);
+            }
+
+            displayedTabs = null;
+            populateCategoryTabs(commandBuilder, eventBuilder, serverManager.getTagIndex());
+            populateServerList(commandBuilder, eventBuilder, isAdmin);
+            pageRegistry.register(playerUuid, this);
+        } finally {
+            PluginTimer.PAGE_BUILD.record(startNanos);
+        }
+    }
+
+    /**
+     * Stops live list updates and leaves any transfer queue once the player closes the page.
+     *
+     * @param ref reference to the entity store
+     * @param store entity component store
+     */
+    @Override
+    public void onDismiss(Ref<EntityStore> ref, Store<EntityStore> store) {
+        pageRegistry.unregister(playerUuid, this);
+        routingTarget = null;
+        leaveQueue();
+        super.onDismiss(ref, store);
+    }
+
+    /**
+     * Leaves the transfer queue, if the player is in one. Also called from any thread when the player
+     * disconnects, since the page is then never dismissed.
+     */
+    void leaveQueue() {
+        QueuedJoin ticket = queuedJoin;
+        if (ticket != null) {
+            ticket.cancelled = true;
+            admissionController.cancel(ticket);
+            queuedJoin = null;
+        }
+    }
+
+    /**
+     * Queues a list update on this page's world thread.
+     * Changes arriving before the world runs it are merged into a single update.
+     */
+    void scheduleListUpdate() {
+        World pageWorld = world;
+        if (pageWorld == null) {
+            return;
         }
+        if (listUpdateScheduled.compareAndSet(false, true)) {
+            pageWorld.execute(this::flushListUpdate);
+        }
+    }
+
+    /**
+     * Sends the rows that changed on the shown page since it was last rendered, or the full page if needed.
+     * After a status change the status and population labels of the kept rows are sent again.
+     */
+    private void flushListUpdate() {
+        listUpdateScheduled.set(false);
+        ServerRegistrySnapshot current = serverManager.getSnapshot();
+        long statusVersion = healthProber.getStatusVersion();
+        if (displayedView == null || (current.getVersion() == displayedView.getVersion()
+                && statusVersion == displayedStatusVersion)) {
+            return;
+        }
+
+        if (!visibleTags(current.getTagIndex()).equals(displayedTabs)) {
+            refreshServerList();
+            return;
+        }
+
+        ServerListView view = ServerListView.select(current, category, filter, pageIndex, displayOrder(current));
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        if (view.getPageIndex() == displayedView.getPageIndex()
+                && ServerListRowDiff.write(displayedView.getRows(), view.getRows(),
+                        statusVersion != displayedStatusVersion, isAdmin, healthProber, i18nManager, commandBuilder,
+                        eventBuilder)) {
+            if (view.getPageCount() != displayedView.getPageCount()) {
+                commandBuilder.set(ServerListRender.PAGE_LABEL_SELECTOR, ServerListRender.pageLabel(i18nManager, view));
+            }
+            displayedView = view;
+            displayedStatusVersion = statusVersion;
+            appendPendingFormClear(commandBuilder);
+            sendUpdate(commandBuilder, eventBuilder, false);
+            return;
+        }
+        refreshServerList();
+    }
 
+    /**
+     * Re-renders the shown page of the list, and the category tabs if the tags in use changed, and sends
+     * them to the client.
+     */
+    private void refreshServerList() {
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        populateCategoryTabs(commandBuilder, eventBuilder, serverManager.getTagIndex());
         populateServerList(commandBuilder, eventBuilder, isAdmin);
+        appendPendingFormClear(commandBuilder);
+        sendUpdate(commandBuilder, eventBuilder, false);
     }
 
     /**
@@ -87,70 +250,239 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
      */
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, SwapServerPageEventData eventData) {
+        long startNanos = System.nanoTime();
+        try {
+            dispatchDataEvent(ref, store, eventData);
+        } finally {
+            PluginTimer.PAGE_EVENT.record(startNanos);
+        }
+    }
+
+    /**
+     * Dispatches one decoded event to the matching handler. Repeated join, add and delete clicks
+     * inside the duplicate window are dropped, and nothing runs once a transfer was requested.
+     *
+     * @param ref reference to the entity store
+     * @param store entity component store
+     * @param eventData decoded event payload
+     */
+    private void dispatchDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, SwapServerPageEventData eventData) {
+        if (actionGuard.isTerminal()) {
+            return;
+        }
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) {
             return;
         }
 
+        long nowNanos = System.nanoTime();
         if (eventData.serverNameToDelete != null) {
-            handleDeleteServerRequest(player, ref, store, eventData.serverNameToDelete);
+            if (actionGuard.tryAccept(ActionGuard.Action.DELETE, eventData.serverNameToDelete, nowNanos)) {
+                handleDeleteServerRequest(player, ref, store, eventData.serverNameToDelete);
+            }
             return;
         }
 
         if (eventData.joinServerName != null) {
-            handleJoinRequest(player, ref, store, eventData.joinServerName);
+            if (actionGuard.tryAccept(ActionGuard.Action.JOIN, eventData.joinServerName, nowNanos)) {
+                handleJoinRequest(player, ref, store, eventData.joinServerName);
+            }
+            return;
+        }
+
+        if (eventData.pageAction != null) {
+            handlePageRequest(eventData.pageAction);
+            return;
+        }
+
+        if (eventData.categorySelection != null) {
+            handleCategoryRequest(eventData.categorySelection);
+            return;
+        }
+
+        if (eventData.filterInput != null) {
+            handleFilterRequest(eventData.filterInput);
             return;
         }
 
-        if (eventData.newServerNameInput != null || eventData.newServerAddressInput != null) {
+        if ((eventData.newServerNameInput != null || eventData.newServerAddressInput != null)
+                && actionGuard.tryAccept(ActionGuard.Action.ADD, eventData.newServerNameInput, nowNanos)) {
             handleAddServerRequest(player, ref, store, eventData.newServerNameInput,
                     eventData.newServerAddressInput);
         }
     }
 
     /**
-     * Rebuilds the server list UI and attaches join/delete bindings.
+     * Rebuilds the shown page of the server list and attaches join/delete bindings.
+     * Unfiltered pages in list order, of every entry or of one category, come from the render cache.
      *
      * @param commandBuilder builder used to compose UI commands
      * @param eventBuilder builder used to bind UI events
      * @param isAdmin whether admin-only controls should be added
      */
     private void populateServerList(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder, boolean isAdmin) {
-        commandBuilder.clear("#ServerList");
-        List<ServerEntry> serverEntries = serverManager.getServerList();
-        String entryTemplatePath = isAdmin ? ADMIN_ENTRY_UI_PATH : ENTRY_UI_PATH;
-        String joinLabel = i18nManager.translate("ui_join");
-        String noServersLabel = i18nManager.translate("ui_no_servers");
-
-        int index = 0;
-        for (ServerEntry entry : serverEntries) {
-            if (entry == null || entry.getName() == null) {
-                continue;
+        long startNanos = System.nanoTime();
+        ServerRegistrySnapshot snapshot = serverManager.getSnapshot();
+        ServerListView view = ServerListView.select(snapshot, category, filter, pageIndex, displayOrder(snapshot));
+        ServerListRender render = renderCache.get(view, !filter.isEmpty() || sortByPopulation, i18nManager, isAdmin);
+        render.replay(commandBuilder, eventBuilder);
+        pageIndex = view.getPageIndex();
+        displayedView = view;
+        displayedStatusVersion = render.getStatusVersion();
+        PluginTimer.POPULATE_LIST.record(startNanos);
+    }
+
+    /**
+     * Renders one tab per category, after an "All" tab, if the tags in use changed since the tabs were last
+     * sent. Shows no tabs if no entry is tagged. A selected category that no entry carries anymore falls
+     * back to every entry.
+     *
+     * @param commandBuilder builder used to compose UI commands
+     * @param eventBuilder builder used to bind UI events
+     * @param tagIndex tag index of the snapshot being shown
+     */
+    private void populateCategoryTabs(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder,
+            ServerTagIndex tagIndex) {
+        List<String> tags = visibleTags(tagIndex);
+        if (tags.equals(displayedTabs)) {
+            return;
+        }
+        if (category != null && !tagIndex.contains(category)) {
+            category = null;
+            pageIndex = 0;
+        }
+        commandBuilder.clear(CATEGORY_TABS_SELECTOR);
+        if (!tags.isEmpty()) {
+            appendCategoryTab(commandBuilder, eventBuilder, 0, i18nManager.translate("ui_category_all"),
+                    EventData.of("PageAction", PAGE_ALL_CATEGORIES), category == null);
+            for (int i = 0; i < tags.size(); i++) {
+                String tag = tags.get(i);
+                appendCategoryTab(commandBuilder, eventBuilder, i + 1, tag, EventData.of("Category", tag),
+                        Objects.equals(ServerTagIndex.tagKey(tag), category));
             }
+        }
+        displayedTabs = tags;
+    }
 
-            String entrySelector = "#ServerList[" + index + "]";
-            commandBuilder.append("#ServerList", entryTemplatePath);
-            commandBuilder.set(entrySelector + " #ServerName.Text", entry.getName());
-            commandBuilder.set(entrySelector + " #JoinButton.Text", joinLabel);
-            eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, entrySelector + " #JoinButton",
-                    EventData.of("ServerName", entry.getName()), false);
+    /**
+     * Appends one category tab and binds it.
+     *
+     * @param commandBuilder builder used to compose UI commands
+     * @param eventBuilder builder used to bind UI events
+     * @param index zero-based tab index
+     * @param label text of the tab
+     * @param eventData data sent back when the tab is clicked
+     * @param selected whether the tab is the shown category
+     */
+    private static void appendCategoryTab(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder, int index,
+            String label, EventData eventData, boolean selected) {
+        String tabSelector = CATEGORY_TABS_SELECTOR + "[" + index + "] #TabButton";
+        commandBuilder.append(CATEGORY_TABS_SELECTOR, selected ? SELECTED_CATEGORY_TAB_UI_PATH : CATEGORY_TAB_UI_PATH);
+        commandBuilder.set(tabSelector + ".Text", label);
+        eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, tabSelector, eventData, false);
+    }
 
-            if (isAdmin) {
-                eventBuilder.addEventBinding(CustomUIEventBindingType.Activating, entrySelector + " #DeleteButton",
-                        EventData.of("DeleteServerName", entry.getName()), false);
-            }
+    /**
+     * Returns the tags that get a tab: the first {@link #MAX_CATEGORY_TABS} in list order.
+     *
+     * @param tagIndex tag index of the snapshot being shown
+     * @return the tab labels
+     */
+    private static List<String> visibleTags(ServerTagIndex tagIndex) {
+        List<String> tags = tagIndex.getTags();
+        return new ArrayList<>(tags.subList(0, Math.min(tags.size(), MAX_CATEGORY_TABS)));
+    }
+
+    /**
+     * Returns the order rows are shown in.
+     *
+     * @param snapshot registry snapshot being shown
+     * @return entry indexes by population when sorting, or null for list order
+     */
+    private int[] displayOrder(ServerRegistrySnapshot snapshot) {
+        return sortByPopulation ? healthProber.getPopulationOrder(snapshot) : null;
+    }
+
+    /**
+     * Returns the label of the sort button, naming the order it switches to.
+     *
+     * @return the localized label
+     */
+    private String sortLabel() {
+        return i18nManager.translate(sortByPopulation ? "ui_sort_list" : "ui_sort_players");
+    }
+
+    /**
+     * Moves to the previous or next page of the list, toggles sorting by population, or shows every category.
+     *
+     * @param pageAction "prev", "next", "sort" or "all"
+     */
+    private void handlePageRequest(String pageAction) {
+        if (PAGE_ALL_CATEGORIES.equals(pageAction)) {
+            handleCategoryRequest(null);
+            return;
+        }
+        if (PAGE_SORT.equals(pageAction)) {
+            sortByPopulation = !sortByPopulation;
+            pageIndex = 0;
+            UICommandBuilder commandBuilder = new UICommandBuilder();
+            UIEventBuilder eventBuilder = new UIEventBuilder();
+            commandBuilder.set("#SortButton.Text", sortLabel());
+            populateServerList(commandBuilder, eventBuilder, isAdmin);
+            appendPendingFormClear(commandBuilder);
+            sendUpdate(commandBuilder, eventBuilder, false);
+            return;
+        }
+        int requestedPage = pageIndex;
+        if (PAGE_PREVIOUS.equals(pageAction)) {
+            requestedPage--;
+        } else if (PAGE_NEXT.equals(pageAction)) {
+            requestedPage++;
+        }
+        int pageCount = displayedView != null ? displayedView.getPageCount() : 1;
+        if (requestedPage < 0 || requestedPage >= pageCount) {
+            return;
+        }
+        pageIndex = requestedPage;
+        refreshServerList();
+    }
 
-            index++;
+    /**
+     * Switches to another category and shows its first page. The category's rows come from the
+     * snapshot's tag index, so this renders one page without scanning the list.
+     *
+     * @param selection tag of the clicked tab, or null for every entry
+     */
+    private void handleCategoryRequest(String selection) {
+        String selected = ServerTagIndex.tagKey(selection);
+        if (Objects.equals(selected, category)) {
+            return;
         }
+        category = selected;
+        pageIndex = 0;
+        // Re-render the tabs so the selected one is highlighted.
+        displayedTabs = null;
+        refreshServerList();
+    }
 
-        if (index == 0) {
-            commandBuilder.appendInline("#ServerList",
-                    "Label { Text: \"" + noServersLabel + "\"; Style: (Alignment: Center); }");
+    /**
+     * Applies a new name filter and shows its first page.
+     *
+     * @param filterInput text typed in the filter field
+     */
+    private void handleFilterRequest(String filterInput) {
+        String newFilter = filterInput.trim();
+        if (newFilter.equals(filter)) {
+            return;
         }
+        filter = newFilter;
+        pageIndex = 0;
+        refreshServerList();
     }
 
     /**
-     * Validates the target name and transfers the player if a match is found.
+     * Validates the target name, then checks the target and its fallbacks off the world thread while the
+     * page shows a routing state. See {@link #finishRouting}.
      *
      * @param player player requesting the transfer
      * @param ref reference to the entity store
@@ -159,7 +491,7 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
      */
     private void handleJoinRequest(Player player, Ref<EntityStore> ref, Store<EntityStore> store,
             String targetServerName) {
-        if (targetServerName == null) {
+        if (targetServerName == null || routingTarget != null) {
             return;
         }
 
@@ -169,11 +501,92 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
             return;
         }
 
-        transferToServer(player, targetServer.get(), ref, store);
+        ServerEntry target = targetServer.get();
+        if (queuedJoin != null) {
+            if (queuedJoin.target.getName().equalsIgnoreCase(target.getName())) {
+                return;
+            }
+            leaveQueue();
+        }
+
+        World pageWorld = world;
+        if (pageWorld == null) {
+            return;
+        }
+        routingTarget = target;
+        setQueueLabel(i18nManager.translate("ui_routing", target.getName()));
+        transferRouter.route(target).whenComplete((chosen, error) -> {
+            try {
+                pageWorld.execute(() -> finishRouting(player, ref, store, target, error == null ? chosen : null));
+            } catch (RuntimeException e) {
+                // World already stopped; the page is gone with it.
+            }
+        });
     }
 
     /**
-     * Validates admin input, adds the server, and refreshes the list UI.
+     * Sends the player to the entry picked by the router. Rate-limited entries queue the player and
+     * show their position; if every entry of the chain is down the page stays open with a message.
+     *
+     * @param player player requesting the transfer
+     * @param ref reference to the entity store
+     * @param store entity component store
+     * @param requested entry the player clicked
+     * @param chosen first live entry of its failover chain, or null if none is live
+     */
+    private void finishRouting(Player player, Ref<EntityStore> ref, Store<EntityStore> store, ServerEntry requested,
+            ServerEntry chosen) {
+        if (routingTarget != requested || !ref.isValid() || actionGuard.isTerminal()) {
+            return;
+        }
+        routingTarget = null;
+        if (chosen == null) {
+            setQueueLabel("");
+            String key = isAdmin && healthProber.getStatus(requested).isUnresolved()
+                    ? "server_unresolved" : "server_offline";
+            player.sendMessage(Message.raw(i18nManager.translate(key, requested.getName())));
+            return;
+        }
+        if (chosen != requested) {
+            player.sendMessage(Message.raw(
+                    i18nManager.translate("server_fallback", requested.getName(), chosen.getName())));
+        }
+
+        QueuedJoin ticket = new QueuedJoin(player, ref, store, chosen);
+        int position = admissionController.request(chosen, ticket);
+        if (position == TransferAdmissionController.ADMITTED) {
+            transferToServer(player, chosen, ref, store);
+            return;
+        }
+        queuedJoin = ticket;
+        showQueuePosition(chosen, position);
+    }
+
+    /**
+     * Shows the player's position in the transfer queue.
+     *
+     * @param target entry the player is waiting for
+     * @param position one-based queue position
+     */
+    private void showQueuePosition(ServerEntry target, int position) {
+        setQueueLabel(i18nManager.translate("ui_queue_position", target.getName(), String.valueOf(position)));
+    }
+
+    /**
+     * Replaces the status line under the pager.
+     *
+     * @param text the text to show, or an empty string to clear it
+     */
+    private void setQueueLabel(String text) {
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        commandBuilder.set("#QueueLabel.Text", text);
+        sendUpdate(commandBuilder, new UIEventBuilder(), false);
+    }
+
+    /**
+     * Validates admin input and adds the server.
+     * Open pages, including this one, receive the new row through the page registry; this page's
+     * form is cleared in that same update.
      *
      * @param player player submitting the new server
      * @param ref reference to the entity store
@@ -210,20 +623,30 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
             return;
         }
 
+        // Set before adding: the list update triggered by the add carries the form reset.
+        clearAddFormPending = true;
         if (!serverManager.addServer(new ServerEntry(serverName, serverHost, serverPort))) {
-            return;
+            clearAddFormPending = false;
         }
+    }
 
-        UICommandBuilder commandBuilder = new UICommandBuilder();
-        UIEventBuilder eventBuilder = new UIEventBuilder();
-        populateServerList(commandBuilder, eventBuilder, true);
+    /**
+     * Adds the reset of the admin add form to an outgoing update if an add is waiting for it.
+     *
+     * @param commandBuilder builder of the update being sent
+     */
+    private void appendPendingFormClear(UICommandBuilder commandBuilder) {
+        if (!clearAddFormPending) {
+            return;
+        }
+        clearAddFormPending = false;
         commandBuilder.set("#NewServerName.Value", "");
         commandBuilder.set("#NewServerIp.Value", "");
-        sendUpdate(commandBuilder, eventBuilder, false);
     }
 
     /**
-     * Validates admin permission, removes the server, and refreshes the list UI.
+     * Validates admin permission and removes the server.
+     * Open pages, including this one, drop the row through the page registry.
      *
      * @param player player requesting deletion
      * @param ref reference to the entity store
@@ -242,18 +665,14 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
         }
 
         serverManager.removeServer(serverNameToDelete.trim());
-
-        UICommandBuilder commandBuilder = new UICommandBuilder();
-        UIEventBuilder eventBuilder = new UIEventBuilder();
-        populateServerList(commandBuilder, eventBuilder, true);
-        sendUpdate(commandBuilder, eventBuilder, false);
     }
 
     /**
      * Closes the current page and requests a transfer to the target server.
+     * Groups are resolved to one of their endpoints by the endpoint selector.
      *
      * @param player player being transferred
-     * @param target target server entry
+     * @param target target server entry or group
      * @param ref reference to the entity store
      * @param store entity component store
      */
@@ -263,8 +682,66 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
             return;
         }
 
+        ServerEndpoint endpoint = endpointSelector.select(target);
+        actionGuard.markTerminal();
+        pageRegistry.unregister(playerUuid, this);
         player.getPageManager().setPage(ref, store, Page.None);
-        playerRef.referToServer(target.getIp(), target.getPort());
+        // Cached address only: a host still being resolved is passed through as typed.
+        playerRef.referToServer(hostResolver.addressFor(endpoint.getIp()), endpoint.getPort());
+    }
+
+    /**
+     * Join request waiting in a target's admission queue. Callbacks arrive on the admission
+     * timer thread and are handed to the page's world thread.
+     */
+    private final class QueuedJoin implements AdmissionTicket {
+        private final Player player;
+        private final Ref<EntityStore> ref;
+        private final Store<EntityStore> store;
+        private final ServerEntry target;
+        private volatile boolean cancelled;
+
+        private QueuedJoin(Player player, Ref<EntityStore> ref, Store<EntityStore> store, ServerEntry target) {
+            this.player = player;
+            this.ref = ref;
+            this.store = store;
+            this.target = target;
+        }
+
+        @Override
+        public void onAdmitted() {
+            World pageWorld = world;
+            if (pageWorld == null || cancelled) {
+                admissionController.refund(target);
+                return;
+            }
+            try {
+                pageWorld.execute(() -> {
+                    if (queuedJoin != this || cancelled || !ref.isValid()) {
+                        // The player left or picked another target: the token goes to the next in line.
+                        admissionController.refund(target);
+                        return;
+                    }
+                    queuedJoin = null;
+                    transferToServer(player, target, ref, store);
+                });
+            } catch (RuntimeException e) {
+                admissionController.refund(target);
+            }
+        }
+
+        @Override
+        public void onPositionChanged(int position) {
+            World pageWorld = world;
+            if (pageWorld == null) {
+                return;
+            }
+            pageWorld.execute(() -> {
+                if (queuedJoin == this) {
+                    showQueuePosition(target, position);
+                }
+            });
+        }
     }
 
     public static class SwapServerPageEventData {
@@ -272,6 +749,9 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
         static final String KEY_DELETE_SERVER_NAME = "DeleteServerName";
         static final String KEY_NEW_SERVER_NAME = "@NewServerName";
         static final String KEY_NEW_SERVER_IP = "@NewServerIp";
+        static final String KEY_PAGE_ACTION = "PageAction";
+        static final String KEY_FILTER = "@Filter";
+        static final String KEY_CATEGORY = "Category";
 
         public static final BuilderCodec<SwapServerPageEventData> CODEC = BuilderCodec
                 .builder(SwapServerPageEventData.class, SwapServerPageEventData::new)
@@ -288,11 +768,23 @@ public class SwapServerPage extends InteractiveCustomUIPage<SwapServerPage.SwapS
                         (entry, value) -> entry.newServerAddressInput = value,
                         entry -> entry.newServerAddressInput)
                 .add()
+                .append(new KeyedCodec<>(KEY_PAGE_ACTION, Codec.STRING),
+                        (entry, value) -> entry.pageAction = value, entry -> entry.pageAction)
+                .add()
+                .append(new KeyedCodec<>(KEY_FILTER, Codec.STRING),
+                        (entry, value) -> entry.filterInput = value, entry -> entry.filterInput)
+                .add()
+                .append(new KeyedCodec<>(KEY_CATEGORY, Codec.STRING),
+                        (entry, value) -> entry.categorySelection = value, entry -> entry.categorySelection)
+                .add()
                 .build();
 
         private String joinServerName;
         private String serverNameToDelete;
         private String newServerNameInput;
         private String newServerAddressInput;
+        private String pageAction;
+        private String filterInput;
+        private String categorySelection;
     }
 }
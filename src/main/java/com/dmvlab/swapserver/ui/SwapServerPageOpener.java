@@ -0,0 +1,206 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.SwapServerServices;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens the SwapServer page in two trips to the world thread. The first only reads the player's
+ * components; the locale, the translation packet and the first page of rows are then prepared on a
+ * virtual thread, and the second trip only opens the page. An open is dropped if the player's entity
+ * is gone by the time either step runs. While the server list is still loading, a loading page is shown
+ * instead and the menu replaces it once the list is ready; if loading fails, the page says so instead.
+ */
+public class SwapServerPageOpener {
+    private static final long OPEN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final SwapServerServices services;
+    private final ExecutorService preparer;
+    private final Map<UUID, Long> pendingOpens = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an opener using the shared plugin services.
+     *
+     * @param services shared plugin services
+     */
+    public SwapServerPageOpener(SwapServerServices services) {
+        this.services = services;
+        this.preparer = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("SwapServer-Open-", 0).factory());
+    }
+
+    /**
+     * Starts opening the page for a player. Repeated requests while an open is in flight are ignored.
+     *
+     * @param entityRef reference to the player's entity
+     * @param store entity component store
+     * @param world world that owns the entity
+     */
+    public void open(Ref<EntityStore> entityRef, Store<EntityStore> store, World world) {
+        world.execute(() -> {
+            if (!entityRef.isValid()) {
+                return;
+            }
+
+            Player player = store.getComponent(entityRef, Player.getComponentType());
+            if (player == null || player.getPageManager().getCustomPage() != null) {
+                return;
+            }
+
+            PlayerRef playerRef = store.getComponent(entityRef, PlayerRef.getComponentType());
+            if (playerRef == null || playerRef.getUuid() == null) {
+                return;
+            }
+
+            if (!services.getServerManager().isReady()) {
+                openLoadingPage(entityRef, store, world, player, playerRef);
+                return;
+            }
+
+            UUID uuid = playerRef.getUuid();
+            long now = System.nanoTime();
+            Long started = pendingOpens.get(uuid);
+            if (started != null && now - started < OPEN_TIMEOUT_NANOS) {
+                return;
+            }
+            Long token = now;
+            pendingOpens.put(uuid, token);
+
+            String language = playerRef.getLanguage();
+            boolean isAdmin = player.hasPermission("swapserver.admin");
+            try {
+                preparer.execute(() -> prepare(entityRef, store, world, playerRef, token, language, isAdmin));
+            } catch (RejectedExecutionException e) {
+                pendingOpens.remove(uuid, token);
+            }
+        });
+    }
+
+    /**
+     * Shows the loading page and queues the real open for when loading ends. If loading already failed,
+     * the page shows the error and nothing is queued. Bundled locales are preloaded at start, so resolving
+     * the locale here is a cache lookup.
+     *
+     * @param entityRef reference to the player's entity
+     * @param store entity component store
+     * @param world world that owns the entity
+     * @param player the player component
+     * @param playerRef the player being served
+     */
+    private void openLoadingPage(Ref<EntityStore> entityRef, Store<EntityStore> store, World world, Player player,
+            PlayerRef playerRef) {
+        boolean failed = services.getServerManager().hasFailed();
+        SwapServerLoadingPage loadingPage = new SwapServerLoadingPage(playerRef,
+                I18nManager.forLocale(playerRef.getLanguage()), failed);
+        player.getPageManager().openCustomPage(entityRef, store, loadingPage);
+        if (failed) {
+            return;
+        }
+        services.getServerManager().getReadiness().whenComplete((ignored, error) -> {
+            try {
+                world.execute(() -> replaceLoadingPage(entityRef, store, world, loadingPage));
+            } catch (RuntimeException e) {
+                // World already stopped; the page is gone with it.
+            }
+        });
+    }
+
+    /**
+     * Swaps the loading page for the menu, or for the error page if loading failed, unless the player
+     * closed it or opened something else meanwhile.
+     *
+     * @param entityRef reference to the player's entity
+     * @param store entity component store
+     * @param world world that owns the entity
+     * @param loadingPage the loading page that was shown
+     */
+    private void replaceLoadingPage(Ref<EntityStore> entityRef, Store<EntityStore> store, World world,
+            SwapServerLoadingPage loadingPage) {
+        if (!entityRef.isValid()) {
+            return;
+        }
+        Player player = store.getComponent(entityRef, Player.getComponentType());
+        if (player == null || player.getPageManager().getCustomPage() != loadingPage) {
+            return;
+        }
+        player.getPageManager().setPage(entityRef, store, Page.None);
+        open(entityRef, store, world);
+    }
+
+    /**
+     * Stops preparing pages. Opens already handed to a world thread still complete.
+     */
+    public void close() {
+        preparer.shutdownNow();
+    }
+
+    /**
+     * Resolves the locale, sends missing translations and renders the first page, off the world thread.
+     *
+     * @param entityRef reference to the player's entity
+     * @param store entity component store
+     * @param world world that owns the entity
+     * @param playerRef the player being served
+     * @param token identifies this open in the pending map
+     * @param language the player's language code
+     * @param isAdmin whether the player sees admin controls
+     */
+    private void prepare(Ref<EntityStore> entityRef, Store<EntityStore> store, World world, PlayerRef playerRef,
+            Long token, String language, boolean isAdmin) {
+        UUID uuid = playerRef.getUuid();
+        try {
+            if (!entityRef.isValid()) {
+                pendingOpens.remove(uuid, token);
+                return;
+            }
+            I18nManager i18nManager = I18nManager.forLocale(language);
+            services.getTranslationDelivery().ensureDelivered(playerRef, i18nManager);
+            // Warms the render cache so build() on the world thread only replays the first page.
+            ServerListView firstPage = ServerListView.select(services.getServerManager().getSnapshot(), "", 0);
+            services.getRenderCache().get(firstPage, false, i18nManager, isAdmin);
+
+            world.execute(() -> finish(entityRef, store, playerRef, token, i18nManager));
+        } catch (RuntimeException e) {
+            pendingOpens.remove(uuid, token);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Opens the prepared page if the player is still there and has no other page open.
+     *
+     * @param entityRef reference to the player's entity
+     * @param store entity component store
+     * @param playerRef the player being served
+     * @param token identifies this open in the pending map
+     * @param i18nManager the player's resolved locale
+     */
+    private void finish(Ref<EntityStore> entityRef, Store<EntityStore> store, PlayerRef playerRef, Long token,
+            I18nManager i18nManager) {
+        pendingOpens.remove(playerRef.getUuid(), token);
+        if (!entityRef.isValid()) {
+            return;
+        }
+
+        Player player = store.getComponent(entityRef, Player.getComponentType());
+        if (player == null || player.getPageManager().getCustomPage() != null) {
+            return;
+        }
+
+        player.getPageManager().openCustomPage(entityRef, store, new SwapServerPage(playerRef, services, i18nManager));
+    }
+}
@@ -0,0 +1,73 @@
+package com.dmvlab.swapserver.ui;
+
+import com.dmvlab.swapserver.manager.ServerListListener;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SwapServerPageRegistry implements ServerListListener {
+    private final Map<UUID, SwapServerPage> openPages = new ConcurrentHashMap<>();
+
+    /**
+     * Tracks a page that is currently shown to a player, replacing any earlier page of that player.
+     *
+     * @param playerUuid the player the page is shown to
+     * @param page the open page
+     */
+    public void register(UUID playerUuid, SwapServerPage page) {
+        if (playerUuid != null) {
+            openPages.put(playerUuid, page);
+        }
+    }
+
+    /**
+     * Stops tracking a page once it has been closed. A newer page of the same player stays tracked.
+     *
+     * @param playerUuid the player the page was shown to
+     * @param page the closed page
+     */
+    public void unregister(UUID playerUuid, SwapServerPage page) {
+        if (playerUuid != null) {
+            openPages.remove(playerUuid, page);
+        }
+    }
+
+    /**
+     * Stops tracking the page of a player who left, whose page is never dismissed, and takes the player
+     * out of any transfer queue so later players move up.
+     *
+     * @param playerRef the player whose session ended
+     */
+    public void forget(PlayerRef playerRef) {
+        if (playerRef == null || playerRef.getUuid() == null) {
+            return;
+        }
+        SwapServerPage page = openPages.remove(playerRef.getUuid());
+        if (page != null) {
+            page.leaveQueue();
+        }
+    }
+
+    /**
+     * Schedules a list update on every open page's world thread.
+     *
+     * @param previous snapshot that was replaced
+     * @param current snapshot that is now published
+     */
+    @Override
+    public void onServerListChanged(ServerRegistrySnapshot previous, ServerRegistrySnapshot current) {
+        onStatusesChanged();
+    }
+
+    /**
+     * Schedules a list update on every open page's world thread after server statuses changed.
+     */
+    public void onStatusesChanged() {
+        for (SwapServerPage page : openPages.values()) {
+            page.scheduleListUpdate();
+        }
+    }
+}
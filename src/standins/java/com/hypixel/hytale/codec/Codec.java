@@ -0,0 +1,13 @@
+package com.hypixel.hytale.codec;
+
+/**
+ * Stand-in for a value codec. Decodes event values from their string form.
+ *
+ * @param <T> decoded type
+ */
+public interface Codec<T> {
+    Codec<String> STRING = value -> value;
+    Codec<Integer> INTEGER = Integer::valueOf;
+
+    T decode(String value);
+}
@@ -0,0 +1,24 @@
+package com.hypixel.hytale.codec;
+
+/**
+ * Stand-in for a codec bound to a key of the event payload.
+ *
+ * @param <T> decoded type
+ */
+public class KeyedCodec<T> {
+    private final String key;
+    private final Codec<T> codec;
+
+    public KeyedCodec(String key, Codec<T> codec) {
+        this.key = key;
+        this.codec = codec;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Codec<T> getCodec() {
+        return codec;
+    }
+}
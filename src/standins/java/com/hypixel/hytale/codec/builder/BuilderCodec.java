@@ -0,0 +1,79 @@
+package com.hypixel.hytale.codec.builder;
+
+import com.hypixel.hytale.codec.KeyedCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stand-in for the builder codec of UI event payloads. {@link #decode} fills a new object from key/value
+ * pairs, the way the server decodes the data of a UI event.
+ *
+ * @param <T> decoded type
+ */
+public class BuilderCodec<T> {
+    private final Supplier<T> factory;
+    private final List<Field<T, ?>> fields;
+
+    private BuilderCodec(Supplier<T> factory, List<Field<T, ?>> fields) {
+        this.factory = factory;
+        this.fields = fields;
+    }
+
+    public static <T> Builder<T> builder(Class<T> type, Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    public T decode(Map<String, String> values) {
+        T decoded = factory.get();
+        for (Field<T, ?> field : fields) {
+            field.apply(decoded, values);
+        }
+        return decoded;
+    }
+
+    public static class Builder<T> {
+        private final Supplier<T> factory;
+        private final List<Field<T, ?>> fields = new ArrayList<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        public <F> Field<T, F> append(KeyedCodec<F> codec, BiConsumer<T, F> setter, Function<T, F> getter) {
+            return new Field<>(this, codec, setter);
+        }
+
+        public BuilderCodec<T> build() {
+            return new BuilderCodec<>(factory, new ArrayList<>(fields));
+        }
+    }
+
+    public static class Field<T, F> {
+        private final Builder<T> builder;
+        private final KeyedCodec<F> codec;
+        private final BiConsumer<T, F> setter;
+
+        private Field(Builder<T> builder, KeyedCodec<F> codec, BiConsumer<T, F> setter) {
+            this.builder = builder;
+            this.codec = codec;
+            this.setter = setter;
+        }
+
+        public Builder<T> add() {
+            builder.fields.add(this);
+            return builder;
+        }
+
+        private void apply(T target, Map<String, String> values) {
+            String value = values.get(codec.getKey());
+            if (value != null) {
+                setter.accept(target, codec.getCodec().decode(value));
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Stand-in for a component type. Only its identity is used, as a key in the {@link Store}.
+ *
+ * @param <E> external data of the store
+ * @param <C> component class
+ */
+public class ComponentType<E, C> {
+}
@@ -0,0 +1,27 @@
+package com.hypixel.hytale.component;
+
+/**
+ * Stand-in for an entity reference. Stays valid until {@link #invalidate()} is called.
+ *
+ * @param <E> external data of the store
+ */
+public class Ref<E> {
+    private final Store<E> store;
+    private volatile boolean valid = true;
+
+    public Ref(Store<E> store) {
+        this.store = store;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public Store<E> getStore() {
+        return store;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hypixel.hytale.component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for an entity component store. Keeps each entity's components in a map.
+ *
+ * @param <E> external data of the store
+ */
+public class Store<E> {
+    private final E externalData;
+    private final Map<Ref<E>, Map<ComponentType<E, ?>, Object>> components = new ConcurrentHashMap<>();
+
+    public Store(E externalData) {
+        this.externalData = externalData;
+    }
+
+    public E getExternalData() {
+        return externalData;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <C> C getComponent(Ref<E> ref, ComponentType<E, C> type) {
+        Map<ComponentType<E, ?>, Object> entity = components.get(ref);
+        return entity != null ? (C) entity.get(type) : null;
+    }
+
+    public <C> void putComponent(Ref<E> ref, ComponentType<E, C> type, C component) {
+        components.computeIfAbsent(ref, key -> new ConcurrentHashMap<>()).put(type, component);
+    }
+
+    public void removeEntity(Ref<E> ref) {
+        components.remove(ref);
+    }
+}
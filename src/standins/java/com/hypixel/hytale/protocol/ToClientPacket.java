@@ -0,0 +1,7 @@
+package com.hypixel.hytale.protocol;
+
+/**
+ * Stand-in for the server packet type.
+ */
+public interface ToClientPacket {
+}
@@ -0,0 +1,10 @@
+package com.hypixel.hytale.protocol;
+
+/**
+ * Stand-in for the server update type.
+ */
+public enum UpdateType {
+    Init,
+    AddOrUpdate,
+    Remove
+}
@@ -0,0 +1,19 @@
+package com.hypixel.hytale.protocol.packets.assets;
+
+import com.hypixel.hytale.protocol.ToClientPacket;
+import com.hypixel.hytale.protocol.UpdateType;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the translation packet. Only holds its payload.
+ */
+public class UpdateTranslations implements ToClientPacket {
+    public UpdateType type;
+    public Map<String, String> translations;
+
+    public UpdateTranslations(UpdateType type, Map<String, String> translations) {
+        this.type = type;
+        this.translations = translations;
+    }
+}
@@ -0,0 +1,18 @@
+package com.hypixel.hytale.protocol.packets.interface_;
+
+import com.hypixel.hytale.protocol.ToClientPacket;
+
+/**
+ * Stand-in for the packet carrying a custom page build or update. Only holds its sizes.
+ */
+public class CustomPage implements ToClientPacket {
+    public final int commands;
+    public final int bindings;
+    public final boolean clear;
+
+    public CustomPage(int commands, int bindings, boolean clear) {
+        this.commands = commands;
+        this.bindings = bindings;
+        this.clear = clear;
+    }
+}
@@ -0,0 +1,8 @@
+package com.hypixel.hytale.protocol.packets.interface_;
+
+/**
+ * Stand-in for the ways a custom page can be closed.
+ */
+public enum CustomPageLifetime {
+    CanDismissOrCloseThroughInteraction
+}
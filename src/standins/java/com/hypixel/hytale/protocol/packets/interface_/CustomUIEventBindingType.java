@@ -0,0 +1,9 @@
+package com.hypixel.hytale.protocol.packets.interface_;
+
+/**
+ * Stand-in for the UI event binding types used by the plugin.
+ */
+public enum CustomUIEventBindingType {
+    Activating,
+    ValueChanged
+}
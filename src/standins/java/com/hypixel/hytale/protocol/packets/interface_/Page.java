@@ -0,0 +1,8 @@
+package com.hypixel.hytale.protocol.packets.interface_;
+
+/**
+ * Stand-in for the built-in page identifiers.
+ */
+public enum Page {
+    None
+}
@@ -0,0 +1,24 @@
+package com.hypixel.hytale.server.core;
+
+/**
+ * Stand-in for a chat message.
+ */
+public class Message {
+    private final String text;
+
+    private Message(String text) {
+        this.text = text;
+    }
+
+    public static Message raw(String text) {
+        return new Message(text);
+    }
+
+    public static Message translation(String key) {
+        return new Message(key);
+    }
+
+    public String getText() {
+        return text;
+    }
+}
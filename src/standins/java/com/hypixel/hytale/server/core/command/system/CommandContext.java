@@ -0,0 +1,45 @@
+package com.hypixel.hytale.server.core.command.system;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Map;
+
+/**
+ * Stand-in for the context of one command run. Arguments are given by name.
+ */
+public class CommandContext {
+    private final CommandSender sender;
+    private final Ref<EntityStore> playerRef;
+    private final String inputString;
+    private final Map<String, String> arguments;
+
+    public CommandContext(CommandSender sender, Ref<EntityStore> playerRef, String inputString,
+            Map<String, String> arguments) {
+        this.sender = sender;
+        this.playerRef = playerRef;
+        this.inputString = inputString;
+        this.arguments = arguments;
+    }
+
+    public boolean isPlayer() {
+        return playerRef != null;
+    }
+
+    public CommandSender sender() {
+        return sender;
+    }
+
+    public Ref<EntityStore> senderAsPlayerRef() {
+        return playerRef;
+    }
+
+    public String getInputString() {
+        return inputString;
+    }
+
+    public <D> D get(RequiredArg<D> argument) {
+        return argument.parse(arguments.get(argument.getName()));
+    }
+}
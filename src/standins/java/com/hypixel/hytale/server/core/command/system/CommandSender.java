@@ -0,0 +1,12 @@
+package com.hypixel.hytale.server.core.command.system;
+
+import com.hypixel.hytale.server.core.Message;
+
+/**
+ * Stand-in for whoever runs a command.
+ */
+public interface CommandSender {
+    void sendMessage(Message message);
+
+    boolean hasPermission(String permission);
+}
@@ -0,0 +1,31 @@
+package com.hypixel.hytale.server.core.command.system.arguments.system;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgumentType;
+
+/**
+ * Stand-in for a required command argument.
+ *
+ * @param <D> parsed type
+ */
+public class RequiredArg<D> {
+    private final String name;
+    private final ArgumentType<D> type;
+
+    public RequiredArg(String name, ArgumentType<D> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public D parse(String input) {
+        return type.parse(input);
+    }
+
+    public D get(CommandContext context) {
+        return context.get(this);
+    }
+}
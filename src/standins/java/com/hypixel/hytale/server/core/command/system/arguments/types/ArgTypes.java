@@ -0,0 +1,11 @@
+package com.hypixel.hytale.server.core.command.system.arguments.types;
+
+/**
+ * Stand-in for the built-in argument types.
+ */
+public final class ArgTypes {
+    public static final ArgumentType<String> STRING = new ArgumentType<>(input -> input);
+
+    private ArgTypes() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.hypixel.hytale.server.core.command.system.arguments.types;
+
+import java.util.function.Function;
+
+/**
+ * Stand-in for a command argument type.
+ *
+ * @param <D> parsed type
+ */
+public class ArgumentType<D> {
+    private final Function<String, D> parser;
+
+    public ArgumentType(Function<String, D> parser) {
+        this.parser = parser;
+    }
+
+    public D parse(String input) {
+        return input != null ? parser.apply(input) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.hypixel.hytale.server.core.command.system.basecommands;
+
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgumentType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stand-in for a synchronous command. {@link #execute} runs the command itself; subcommands are looked up
+ * with {@link #getSubCommand}.
+ */
+public abstract class CommandBase {
+    private final String name;
+    private final Map<String, CommandBase> subCommands = new LinkedHashMap<>();
+
+    public CommandBase(String name, String description) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    protected boolean canGeneratePermission() {
+        return true;
+    }
+
+    protected abstract void executeSync(CommandContext context);
+
+    public void execute(CommandContext context) {
+        executeSync(context);
+    }
+
+    public void addSubCommand(CommandBase command) {
+        subCommands.put(command.getName(), command);
+    }
+
+    public CommandBase getSubCommand(String subCommandName) {
+        return subCommands.get(subCommandName);
+    }
+
+    public void setAllowsExtraArguments(boolean allowsExtraArguments) {
+    }
+
+    protected <D> RequiredArg<D> withRequiredArg(String argumentName, String description, ArgumentType<D> type) {
+        return new RequiredArg<>(argumentName, type);
+    }
+}
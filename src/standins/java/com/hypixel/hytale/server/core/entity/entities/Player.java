@@ -0,0 +1,48 @@
+package com.hypixel.hytale.server.core.entity.entities;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandSender;
+import com.hypixel.hytale.server.core.entity.entities.player.pages.PageManager;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the player component. Holds a fixed set of permissions and counts chat messages.
+ */
+public class Player implements CommandSender {
+    private static final ComponentType<EntityStore, Player> COMPONENT_TYPE = new ComponentType<>();
+
+    private final Set<String> permissions;
+    private final PageManager pageManager;
+    private final AtomicLong messages = new AtomicLong();
+
+    public Player(Set<String> permissions, PageManager pageManager) {
+        this.permissions = permissions;
+        this.pageManager = pageManager;
+    }
+
+    public static ComponentType<EntityStore, Player> getComponentType() {
+        return COMPONENT_TYPE;
+    }
+
+    @Override
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission);
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        messages.incrementAndGet();
+    }
+
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    public PageManager getPageManager() {
+        return pageManager;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hypixel.hytale.server.core.entity.entities.player.pages;
+
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPage;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPageLifetime;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Stand-in for an interactive custom page. Updates are written to the player's packet handler as
+ * {@link CustomPage} packets.
+ *
+ * @param <T> event payload type
+ */
+public abstract class InteractiveCustomUIPage<T> {
+    protected final PlayerRef playerRef;
+    private PageManager pageManager;
+    private Ref<EntityStore> ref;
+    private Store<EntityStore> store;
+
+    public InteractiveCustomUIPage(PlayerRef playerRef, CustomPageLifetime lifetime, BuilderCodec<T> codec) {
+        this.playerRef = playerRef;
+    }
+
+    public abstract void build(Ref<EntityStore> ref, UICommandBuilder commandBuilder, UIEventBuilder eventBuilder,
+            Store<EntityStore> store);
+
+    public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, T data) {
+    }
+
+    public void onDismiss(Ref<EntityStore> ref, Store<EntityStore> store) {
+    }
+
+    void attach(PageManager manager, Ref<EntityStore> pageRef, Store<EntityStore> pageStore) {
+        this.pageManager = manager;
+        this.ref = pageRef;
+        this.store = pageStore;
+    }
+
+    protected void sendUpdate(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder, boolean clear) {
+        playerRef.getPacketHandler().write(new CustomPage(commandBuilder.size(), eventBuilder.size(), clear));
+    }
+
+    protected void sendUpdate(UICommandBuilder commandBuilder, boolean clear) {
+        sendUpdate(commandBuilder, new UIEventBuilder(), clear);
+    }
+
+    protected void sendUpdate(UICommandBuilder commandBuilder) {
+        sendUpdate(commandBuilder, false);
+    }
+
+    protected void close() {
+        if (pageManager != null && pageManager.getCustomPage() == this) {
+            pageManager.setPage(ref, store, Page.None);
+        }
+    }
+
+    protected void rebuild() {
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        build(ref, commandBuilder, eventBuilder, store);
+        sendUpdate(commandBuilder, eventBuilder, true);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hypixel.hytale.server.core.entity.entities.player.pages;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.protocol.packets.interface_.Page;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for a player's page manager. Opening a page builds it at once; a listener is told about every
+ * page it opens.
+ */
+public class PageManager {
+    private final Consumer<InteractiveCustomUIPage<?>> openListener;
+    private InteractiveCustomUIPage<?> customPage;
+
+    public PageManager(Consumer<InteractiveCustomUIPage<?>> openListener) {
+        this.openListener = openListener;
+    }
+
+    public InteractiveCustomUIPage<?> getCustomPage() {
+        return customPage;
+    }
+
+    public void openCustomPage(Ref<EntityStore> ref, Store<EntityStore> store, InteractiveCustomUIPage<?> page) {
+        if (customPage != null) {
+            customPage.onDismiss(ref, store);
+        }
+        customPage = page;
+        page.attach(this, ref, store);
+        UICommandBuilder commandBuilder = new UICommandBuilder();
+        UIEventBuilder eventBuilder = new UIEventBuilder();
+        page.build(ref, commandBuilder, eventBuilder, store);
+        page.sendUpdate(commandBuilder, eventBuilder, true);
+        openListener.accept(page);
+    }
+
+    public void setPage(Ref<EntityStore> ref, Store<EntityStore> store, Page page) {
+        InteractiveCustomUIPage<?> closed = customPage;
+        customPage = null;
+        if (closed != null) {
+            closed.onDismiss(ref, store);
+        }
+    }
+}
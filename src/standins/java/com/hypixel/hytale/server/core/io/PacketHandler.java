@@ -0,0 +1,23 @@
+package com.hypixel.hytale.server.core.io;
+
+import com.hypixel.hytale.protocol.ToClientPacket;
+import com.hypixel.hytale.protocol.packets.interface_.CustomPage;
+
+/**
+ * Stand-in for a connection's packet handler. Counts writes instead of sending them.
+ */
+public class PacketHandler {
+    public long written;
+    public long customPageUpdates;
+
+    public synchronized void write(ToClientPacket packet) {
+        written++;
+        if (packet instanceof CustomPage) {
+            customPageUpdates++;
+        }
+    }
+
+    public synchronized void writeNoCache(ToClientPacket packet) {
+        written++;
+    }
+}
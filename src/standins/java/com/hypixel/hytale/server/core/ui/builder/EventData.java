@@ -0,0 +1,21 @@
+package com.hypixel.hytale.server.core.ui.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for UI event data. Keeps the appended pairs so the work is not optimized away.
+ */
+public class EventData {
+    private final List<String> entries = new ArrayList<>(4);
+
+    public static EventData of(String key, String value) {
+        return new EventData().append(key, value);
+    }
+
+    public EventData append(String key, String value) {
+        entries.add(key);
+        entries.add(value);
+        return this;
+    }
+}
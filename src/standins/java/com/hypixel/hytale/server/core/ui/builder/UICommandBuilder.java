@@ -0,0 +1,61 @@
+package com.hypixel.hytale.server.core.ui.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the UI command builder. Records each command as strings, which is close
+ * to the allocation profile of the real builder without needing a running server.
+ */
+public class UICommandBuilder {
+    private final List<Object> commands = new ArrayList<>();
+
+    public UICommandBuilder append(String documentPath) {
+        commands.add(documentPath);
+        return this;
+    }
+
+    public UICommandBuilder append(String selector, String documentPath) {
+        commands.add(selector);
+        commands.add(documentPath);
+        return this;
+    }
+
+    public UICommandBuilder appendInline(String selector, String document) {
+        commands.add(selector);
+        commands.add(document);
+        return this;
+    }
+
+    public UICommandBuilder clear(String selector) {
+        commands.add(selector);
+        return this;
+    }
+
+    public UICommandBuilder remove(String selector) {
+        commands.add(selector);
+        return this;
+    }
+
+    public UICommandBuilder set(String selector, String value) {
+        commands.add(selector);
+        commands.add(value);
+        return this;
+    }
+
+    public UICommandBuilder set(String selector, boolean value) {
+        commands.add(selector);
+        commands.add(value);
+        return this;
+    }
+
+    public UICommandBuilder set(String selector, int value) {
+        commands.add(selector);
+        commands.add(value);
+        return this;
+    }
+
+    public int size() {
+        return commands.size();
+    }
+}
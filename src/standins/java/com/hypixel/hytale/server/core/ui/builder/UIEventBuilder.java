@@ -0,0 +1,28 @@
+package com.hypixel.hytale.server.core.ui.builder;
+
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for the UI event builder.
+ */
+public class UIEventBuilder {
+    private final List<Object> bindings = new ArrayList<>();
+
+    public UIEventBuilder addEventBinding(CustomUIEventBindingType type, String selector, EventData data) {
+        return addEventBinding(type, selector, data, true);
+    }
+
+    public UIEventBuilder addEventBinding(CustomUIEventBindingType type, String selector, EventData data,
+            boolean locksInterface) {
+        bindings.add(selector);
+        bindings.add(data);
+        return this;
+    }
+
+    public int size() {
+        return bindings.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hypixel.hytale.server.core.universe;
+
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.io.PacketHandler;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for a connected player. Counts chat messages and transfer requests instead of sending them.
+ */
+public class PlayerRef {
+    private static final ComponentType<EntityStore, PlayerRef> COMPONENT_TYPE = new ComponentType<>();
+
+    private final UUID uuid = UUID.randomUUID();
+    private final PacketHandler packetHandler = new PacketHandler();
+    private final String username;
+    private final String language;
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong referrals = new AtomicLong();
+
+    public PlayerRef(String language) {
+        this("Player", language);
+    }
+
+    public PlayerRef(String username, String language) {
+        this.username = username;
+        this.language = language;
+    }
+
+    public static ComponentType<EntityStore, PlayerRef> getComponentType() {
+        return COMPONENT_TYPE;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public PacketHandler getPacketHandler() {
+        return packetHandler;
+    }
+
+    public void sendMessage(Message message) {
+        messages.incrementAndGet();
+    }
+
+    public void referToServer(String host, int port) {
+        referrals.incrementAndGet();
+    }
+
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    public long getReferralCount() {
+        return referrals.get();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hypixel.hytale.server.core.universe.world;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Stand-in for a world. Runs tasks on the calling thread; subclasses can give it a world thread.
+ */
+public class World implements Executor {
+    @Override
+    public void execute(Runnable task) {
+        task.run();
+    }
+}
@@ -0,0 +1,18 @@
+package com.hypixel.hytale.server.core.universe.world.storage;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+/**
+ * Stand-in for the entity store of a world.
+ */
+public class EntityStore {
+    private final World world;
+
+    public EntityStore(World world) {
+        this.world = world;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+}
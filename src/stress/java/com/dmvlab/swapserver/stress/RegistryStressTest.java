@@ -0,0 +1,549 @@
+package com.dmvlab.swapserver.stress;
+
+import com.dmvlab.swapserver.health.HostResolver;
+import com.dmvlab.swapserver.health.ServerHealthProber;
+import com.dmvlab.swapserver.i18n.I18nManager;
+import com.dmvlab.swapserver.manager.JsonFileRegistryBackend;
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+import com.dmvlab.swapserver.manager.SqliteRegistryBackend;
+import com.dmvlab.swapserver.manager.StorageMode;
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.dmvlab.swapserver.ui.ServerListRender;
+import com.dmvlab.swapserver.ui.ServerListRenderCache;
+import com.dmvlab.swapserver.ui.ServerListView;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Concurrency stress suite for the server registry and its storage backends.
+ *
+ * <p>For each storage mode, writer threads run random adds, removes and batches while reader threads
+ * look entries up, walk the list and render pages. Afterwards every published version is replayed
+ * against a sequential model, every result is checked against a version its call could have seen, and
+ * the final list in memory and on disk must equal the model. Prints operations per second and exits
+ * with status 1 on any mismatch, together with the seed that reproduces the run.</p>
+ *
+ * <p>Usage: {@code RegistryStressTest [threads] [operations per mode] [seed]}</p>
+ */
+public final class RegistryStressTest {
+    private static final int NAME_SPACE = 48;
+    private static final int MAX_BATCH_SIZE = 6;
+    private static final int MAX_REPORTED_FAILURES = 20;
+    private static final long POLL_INTERVAL_MILLIS = 250L;
+    private static final String[] NAME_PREFIXES = {"server-", "Server-", "SERVER-"};
+    private static final String[] FILTERS = {"", "server-1", "2", "missing"};
+    private static final String[] TAGS = {"Lobby", "minigames", "SURVIVAL"};
+
+    private final StorageMode storageMode;
+    private final int threads;
+    private final int operations;
+    private final long seed;
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    private RegistryStressTest(StorageMode storageMode, int threads, int operations, long seed) {
+        this.storageMode = storageMode;
+        this.threads = threads;
+        this.operations = operations;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the suite for every storage mode.
+     *
+     * @param args thread count, operations per mode and random seed, all optional
+     * @throws Exception if a run cannot set up its data folder
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Math.max(2, Integer.parseInt(args[0])) : 8;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.currentTimeMillis();
+        System.out.println("Registry stress: " + threads + " threads, " + operations
+                + " operations per storage mode, seed " + seed);
+
+        List<String> failures = new ArrayList<>();
+        for (StorageMode storageMode : StorageMode.values()) {
+            if (storageMode == StorageMode.SQLITE && !isSqliteAvailable()) {
+                System.out.println("  sqlite   skipped, the SQLite driver is not on the classpath");
+                continue;
+            }
+            for (String failure : new RegistryStressTest(storageMode, threads, operations, seed).run()) {
+                failures.add(storageMode.getId() + ": " + failure);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            System.err.println("Registry stress failed (seed " + seed + "), " + failures.size() + " problems:");
+            for (int i = 0; i < Math.min(failures.size(), MAX_REPORTED_FAILURES); i++) {
+                System.err.println("  " + failures.get(i));
+            }
+            System.exit(1);
+        }
+        System.out.println("Registry stress passed");
+    }
+
+    /**
+     * Runs the writers and readers against a fresh data folder, then checks the results.
+     *
+     * @return the problems found
+     * @throws Exception if the data folder cannot be created or a thread is interrupted
+     */
+    private List<String> run() throws Exception {
+        Path dataFolder = Files.createTempDirectory("swapserver-stress-");
+        try {
+            ServerListManager manager = open(dataFolder);
+            StressHistory history = new StressHistory(manager.getSnapshot());
+            manager.addListener(history);
+            manager.startWatching();
+            ServerHealthProber healthProber = new ServerHealthProber(manager, new HostResolver());
+            ServerListRenderCache renderCache = new ServerListRenderCache(healthProber);
+            I18nManager i18nManager = I18nManager.forLocale(I18nManager.DEFAULT_LOCALE);
+
+            int writers = threads / 2;
+            List<List<StressOperation>> writes = new ArrayList<>();
+            List<List<ReadObservation>> reads = new ArrayList<>();
+            long[] finishedNanos = new long[threads];
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                int quota = operations / threads + (i < operations % threads ? 1 : 0);
+                Random random = new Random(seed * 31 + i);
+                Runnable work;
+                if (i < writers) {
+                    List<StressOperation> log = new ArrayList<>(quota);
+                    writes.add(log);
+                    work = () -> write(manager, random, quota, log);
+                } else {
+                    List<ReadObservation> log = new ArrayList<>(quota);
+                    reads.add(log);
+                    work = () -> read(manager, healthProber, renderCache, i18nManager, random, quota, log);
+                }
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                        work.run();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        failures.add("Stress thread failed: " + e);
+                    }
+                    finishedNanos[index] = System.nanoTime();
+                }, "SwapServer-Stress-" + i);
+                workers.add(worker);
+                worker.start();
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            healthProber.close();
+            manager.removeListener(history);
+
+            List<ServerEntry> expected = check(history, writes, reads);
+            if (!expected.equals(manager.getServerList())) {
+                failures.add("The list in memory differs from the model: " + names(manager.getServerList())
+                        + " instead of " + names(expected));
+            }
+            manager.shutdown();
+            ServerListManager reopened = open(dataFolder);
+            if (!expected.equals(reopened.getServerList())) {
+                failures.add("The stored list differs from the model: " + names(reopened.getServerList())
+                        + " instead of " + names(expected));
+            }
+            reopened.shutdown();
+
+            report(history, writes, reads, startNanos, finishedNanos, writers);
+        } finally {
+            delete(dataFolder);
+        }
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Opens a registry on the data folder with the storage mode under test.
+     *
+     * @param dataFolder folder holding the stored list
+     * @return the registry
+     */
+    private ServerListManager open(Path dataFolder) {
+        if (storageMode == StorageMode.SQLITE) {
+            return new ServerListManager(new SqliteRegistryBackend(dataFolder.resolve("servers.db"),
+                    dataFolder.resolve("servers.json"), POLL_INTERVAL_MILLIS));
+        }
+        return new ServerListManager(new JsonFileRegistryBackend(dataFolder, storageMode));
+    }
+
+    /**
+     * Runs random adds, removes and batches, recording the versions seen around each call.
+     *
+     * @param manager registry under test
+     * @param random source of operations
+     * @param count number of operations
+     * @param log receives every operation
+     */
+    private void write(ServerListManager manager, Random random, int count, List<StressOperation> log) {
+        for (int i = 0; i < count; i++) {
+            StressOperation operation = randomOperation(random);
+            StressHistory.setCurrent(operation);
+            try {
+                operation.startVersion = manager.getVersion();
+                switch (operation.getKind()) {
+                    case ADD:
+                        operation.result = manager.addServer(operation.getEntry());
+                        break;
+                    case REMOVE:
+                        manager.removeServer(operation.getName());
+                        break;
+                    default:
+                        operation.result = !manager.applyBatch(operation.toBatch()).isEmpty();
+                        break;
+                }
+                operation.endVersion = manager.getVersion();
+            } catch (RuntimeException e) {
+                failures.add("Exception in " + operation + ": " + e);
+            } finally {
+                StressHistory.setCurrent(null);
+            }
+            log.add(operation);
+        }
+    }
+
+    /**
+     * Runs random lookups, list walks and page renders, recording what each one returned.
+     *
+     * @param manager registry under test
+     * @param healthProber prober used for population order and status labels
+     * @param renderCache shared render cache, as used by open menus
+     * @param i18nManager translations used for rendering
+     * @param random source of operations
+     * @param count number of operations
+     * @param log receives every observation
+     */
+    private void read(ServerListManager manager, ServerHealthProber healthProber, ServerListRenderCache renderCache,
+            I18nManager i18nManager, Random random, int count, List<ReadObservation> log) {
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            try {
+                if (roll < 40) {
+                    String name = randomName(random);
+                    long startVersion = manager.getVersion();
+                    ServerEntry found = manager.findServerByName(name).orElse(null);
+                    log.add(new ReadObservation(name, found, startVersion, manager.getVersion()));
+                } else if (roll < 60) {
+                    long startVersion = manager.getVersion();
+                    List<ServerEntry> entries = manager.getServerList();
+                    long endVersion = manager.getVersion();
+                    for (ServerEntry entry : entries) {
+                        if (entry == null || entry.getName() == null) {
+                            failures.add("The server list holds an empty entry");
+                        }
+                    }
+                    log.add(new ReadObservation(null, entries, startVersion, endVersion));
+                } else {
+                    log.add(render(manager.getSnapshot(), healthProber, renderCache, i18nManager, random));
+                }
+            } catch (RuntimeException e) {
+                failures.add("Exception while reading: " + e);
+            }
+        }
+    }
+
+    /**
+     * Renders a random page of a snapshot the way an open menu does and replays it into UI builders.
+     *
+     * @param snapshot snapshot to render
+     * @param healthProber prober used for population order and status labels
+     * @param renderCache shared render cache
+     * @param i18nManager translations used for rendering
+     * @param random source of the filter, page and mode
+     * @return an observation of the rendered snapshot
+     */
+    private ReadObservation render(ServerRegistrySnapshot snapshot, ServerHealthProber healthProber,
+            ServerListRenderCache renderCache, I18nManager i18nManager, Random random) {
+        String filter = FILTERS[random.nextInt(FILTERS.length)];
+        String category = random.nextBoolean() ? null : TAGS[random.nextInt(TAGS.length)].toLowerCase(Locale.ROOT);
+        int page = random.nextInt(3);
+        boolean isAdmin = random.nextBoolean();
+        ServerListView view;
+        ServerListRender render;
+        if (random.nextInt(4) == 0) {
+            // Sorted pages bypass the cache, like in the menu.
+            view = ServerListView.select(snapshot, category, filter, page, healthProber.getPopulationOrder(snapshot));
+            render = ServerListRender.render(view, healthProber, i18nManager, isAdmin);
+        } else {
+            view = ServerListView.select(snapshot, category, filter, page, null);
+            render = renderCache.get(view, !filter.isEmpty(), i18nManager, isAdmin);
+        }
+        if (render.getVersion() != view.getVersion()) {
+            failures.add("A page of version " + view.getVersion() + " was rendered from version "
+                    + render.getVersion());
+        }
+        for (ServerEntry row : view.getRows()) {
+            if (snapshot.getByName(row.getName()) != row) {
+                failures.add("Version " + snapshot.getVersion() + " shows " + row.getName() + " not in its list");
+            }
+            if (category != null && row.getTags().stream().noneMatch(tag -> tag.equalsIgnoreCase(category))) {
+                failures.add("Version " + snapshot.getVersion() + " shows " + row.getName() + " under " + category);
+            }
+        }
+        render.replay(new UICommandBuilder(), new UIEventBuilder());
+        return new ReadObservation(null, snapshot, snapshot.getVersion(), snapshot.getVersion());
+    }
+
+    /**
+     * Replays every published version against the sequential model and checks each call against it.
+     *
+     * @param history versions published during the run
+     * @param writes operations of every writer
+     * @param reads observations of every reader
+     * @return the model's final list
+     */
+    private List<ServerEntry> check(StressHistory history, List<List<StressOperation>> writes,
+            List<List<ReadObservation>> reads) {
+        failures.addAll(history.getFailures());
+        List<ServerEntry> model = new ArrayList<>(history.at(history.getBaseVersion()).getEntries());
+        for (long version = history.getBaseVersion() + 1; version <= history.getLastVersion(); version++) {
+            List<ServerEntry> published = history.at(version).getEntries();
+            StressOperation operation = history.publisherOf(version);
+            if (operation == null) {
+                failures.add("Version " + version + " was published by the storage backend, not by a write");
+                model = new ArrayList<>(published);
+                continue;
+            }
+            model = operation.applyTo(model);
+            if (!model.equals(published)) {
+                failures.add("Version " + version + " differs from the model after " + operation);
+                model = new ArrayList<>(published);
+            }
+        }
+
+        for (List<StressOperation> log : writes) {
+            for (StressOperation operation : log) {
+                checkWrite(history, operation);
+            }
+        }
+        for (List<ReadObservation> log : reads) {
+            for (ReadObservation observation : log) {
+                if (!observation.matchesSomeVersion(history)) {
+                    failures.add("A read returned a state that no version it could see had: " + observation);
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Checks that a write published within its call when it reported a change, and otherwise that some
+     * version it could have seen made it a no-op.
+     *
+     * @param history versions published during the run
+     * @param operation the write to check
+     */
+    private void checkWrite(StressHistory history, StressOperation operation) {
+        if (operation.publishedVersion >= 0) {
+            if (operation.publishedVersion <= operation.startVersion
+                    || operation.publishedVersion > operation.endVersion) {
+                failures.add("Published outside of its call: " + operation);
+            }
+            if (operation.getKind() != StressOperation.Kind.REMOVE && !operation.result) {
+                failures.add("Reported no change but published one: " + operation);
+            }
+            return;
+        }
+        if (operation.result) {
+            failures.add("Reported a change but published nothing: " + operation);
+        }
+        for (long version = operation.startVersion; version <= operation.endVersion; version++) {
+            ServerRegistrySnapshot snapshot = history.at(version);
+            if (snapshot != null && operation.applyTo(snapshot.getEntries()).equals(snapshot.getEntries())) {
+                return;
+            }
+        }
+        failures.add("Changed nothing although every version it could see would change: " + operation);
+    }
+
+    /**
+     * Prints the throughput of the writers and readers and the size of the run.
+     *
+     * @param history versions published during the run
+     * @param writes operations of every writer
+     * @param reads observations of every reader
+     * @param startNanos when the threads were released
+     * @param finishedNanos when each thread finished
+     * @param writers number of writer threads, which come first in finishedNanos
+     */
+    private void report(StressHistory history, List<List<StressOperation>> writes, List<List<ReadObservation>> reads,
+            long startNanos, long[] finishedNanos, int writers) {
+        long writeCount = writes.stream().mapToLong(List::size).sum();
+        long readCount = reads.stream().mapToLong(List::size).sum();
+        long writeNanos = 1L;
+        long readNanos = 1L;
+        for (int i = 0; i < finishedNanos.length; i++) {
+            long elapsed = finishedNanos[i] - startNanos;
+            if (i < writers) {
+                writeNanos = Math.max(writeNanos, elapsed);
+            } else {
+                readNanos = Math.max(readNanos, elapsed);
+            }
+        }
+        System.out.printf(Locale.ROOT, "  %-8s %,12.0f writes/s %,12.0f reads/s   %d versions, %d servers at the end%n",
+                storageMode.getId(), writeCount * 1e9 / writeNanos, readCount * 1e9 / readNanos,
+                history.getLastVersion() - history.getBaseVersion(),
+                history.at(history.getLastVersion()).size());
+    }
+
+    /**
+     * Picks an add (45%), a remove (35%) or a batch of up to {@link #MAX_BATCH_SIZE} changes (20%).
+     *
+     * @param random source of the operation
+     * @return the operation
+     */
+    private static StressOperation randomOperation(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 45) {
+            return StressOperation.add(randomEntry(random));
+        }
+        if (roll < 80) {
+            return StressOperation.remove(randomName(random));
+        }
+        StressOperation batch = StressOperation.batch();
+        int size = 1 + random.nextInt(MAX_BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(3) == 0) {
+                batch.removeInBatch(randomName(random));
+            } else {
+                batch.put(randomEntry(random));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Creates an entry with a random name from the shared name space, a random address and, for two
+     * entries out of three, a random tag.
+     *
+     * @param random source of the values
+     * @return the entry
+     */
+    private static ServerEntry randomEntry(Random random) {
+        ServerEntry entry = new ServerEntry(randomName(random),
+                "10.0." + random.nextInt(4) + "." + (1 + random.nextInt(250)), 5520 + random.nextInt(4));
+        int tag = random.nextInt(TAGS.length + 1);
+        if (tag < TAGS.length) {
+            entry.setTags(List.of(TAGS[tag]));
+        }
+        return entry;
+    }
+
+    /**
+     * Picks one of {@link #NAME_SPACE} names in a random case, so threads keep colliding on the same entries.
+     *
+     * @param random source of the name
+     * @return the name
+     */
+    private static String randomName(Random random) {
+        return NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + random.nextInt(NAME_SPACE);
+    }
+
+    /**
+     * Lists the names of entries, for failure messages.
+     *
+     * @param entries entries to describe
+     * @return the names in order
+     */
+    private static List<String> names(List<ServerEntry> entries) {
+        return entries.stream().map(ServerEntry::getName).toList();
+    }
+
+    /**
+     * Checks whether the SQLite driver can be loaded.
+     *
+     * @return true if the sqlite storage mode can run
+     */
+    private static boolean isSqliteAvailable() {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a data folder and everything in it.
+     *
+     * @param folder folder to delete
+     */
+    private static void delete(Path folder) {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Could not delete " + folder + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * What a reader got back: an entry looked up by name, the whole list, or a rendered snapshot.
+     */
+    private static final class ReadObservation {
+        private final String name;
+        private final Object value;
+        private final long startVersion;
+        private final long endVersion;
+
+        ReadObservation(String name, Object value, long startVersion, long endVersion) {
+            this.name = name;
+            this.value = value;
+            this.startVersion = startVersion;
+            this.endVersion = endVersion;
+        }
+
+        /**
+         * Checks that some version published during the call returned exactly this instance.
+         *
+         * @param history versions published during the run
+         * @return true if the observation matches a version in its window
+         */
+        boolean matchesSomeVersion(StressHistory history) {
+            for (long version = startVersion; version <= endVersion; version++) {
+                ServerRegistrySnapshot snapshot = history.at(version);
+                if (snapshot == null) {
+                    continue;
+                }
+                if (value instanceof ServerRegistrySnapshot ? snapshot == value
+                        : name != null ? snapshot.getByName(name) == value : snapshot.getEntries() == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Describes the observation for failure messages.
+         *
+         * @return a short description
+         */
+        @Override
+        public String toString() {
+            String what = value instanceof ServerRegistrySnapshot ? "rendered snapshot"
+                    : name != null ? "lookup of " + name : "server list";
+            return what + " [versions " + startVersion + ".." + endVersion + "]";
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.dmvlab.swapserver.stress;
+
+import com.dmvlab.swapserver.manager.ServerListListener;
+import com.dmvlab.swapserver.manager.ServerRegistrySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every snapshot the registry publishes and the stress operation that published it.
+ * Listeners run under the registry's write lock, so the lists are only appended to in version order;
+ * they are read once every stress thread has finished.
+ */
+final class StressHistory implements ServerListListener {
+    private static final ThreadLocal<StressOperation> CURRENT = new ThreadLocal<>();
+
+    private final long baseVersion;
+    private final List<ServerRegistrySnapshot> snapshots = new ArrayList<>();
+    private final List<StressOperation> publishers = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    /**
+     * Starts a history at the snapshot the registry holds before the run.
+     *
+     * @param initial current snapshot
+     */
+    StressHistory(ServerRegistrySnapshot initial) {
+        this.baseVersion = initial.getVersion();
+        snapshots.add(initial);
+        publishers.add(null);
+    }
+
+    /**
+     * Marks the operation the calling thread is about to run, so a publish can be traced back to it.
+     *
+     * @param operation the operation, or null once it returned
+     */
+    static void setCurrent(StressOperation operation) {
+        if (operation == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(operation);
+        }
+    }
+
+    /**
+     * Records a published snapshot and checks that versions follow each other without gaps.
+     *
+     * @param previous snapshot that was replaced
+     * @param current snapshot that was published
+     */
+    @Override
+    public void onServerListChanged(ServerRegistrySnapshot previous, ServerRegistrySnapshot current) {
+        ServerRegistrySnapshot last = snapshots.get(snapshots.size() - 1);
+        if (previous != last || current.getVersion() != previous.getVersion() + 1) {
+            failures.add("Version " + current.getVersion() + " was published over version " + previous.getVersion()
+                    + " while the last recorded version was " + last.getVersion());
+        }
+        StressOperation operation = CURRENT.get();
+        if (operation != null) {
+            if (operation.publishedVersion >= 0) {
+                failures.add("Published twice: " + operation);
+            }
+            operation.publishedVersion = current.getVersion();
+        }
+        snapshots.add(current);
+        publishers.add(operation);
+    }
+
+    /**
+     * Returns the snapshot published with the given version.
+     *
+     * @param version registry version
+     * @return the snapshot, or null if the version was never recorded
+     */
+    ServerRegistrySnapshot at(long version) {
+        long index = version - baseVersion;
+        return index >= 0 && index < snapshots.size() ? snapshots.get((int) index) : null;
+    }
+
+    /**
+     * Returns the operation that published the given version.
+     *
+     * @param version registry version
+     * @return the operation, or null if the version came from storage or is the initial one
+     */
+    StressOperation publisherOf(long version) {
+        long index = version - baseVersion;
+        return index >= 0 && index < publishers.size() ? publishers.get((int) index) : null;
+    }
+
+    /**
+     * Returns the version the history started at.
+     *
+     * @return the initial version
+     */
+    long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * Returns the last recorded version.
+     *
+     * @return the newest version
+     */
+    long getLastVersion() {
+        return baseVersion + snapshots.size() - 1;
+    }
+
+    /**
+     * Returns problems found while recording.
+     *
+     * @return failure messages
+     */
+    List<String> getFailures() {
+        return failures;
+    }
+}
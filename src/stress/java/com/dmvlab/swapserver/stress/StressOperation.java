@@ -0,0 +1,204 @@
+package com.dmvlab.swapserver.stress;
+
+import com.dmvlab.swapserver.manager.ServerListBatch;
+import com.dmvlab.swapserver.model.ServerEntry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One registry write made by a stress thread, with the versions it observed and the version it published.
+ * Also knows how the operation changes a list in the sequential model.
+ */
+final class StressOperation {
+    enum Kind { ADD, REMOVE, BATCH }
+
+    private final Kind kind;
+    private final ServerEntry entry;
+    private final String name;
+    private final Map<String, ServerEntry> changes;
+    long startVersion;
+    long endVersion;
+    long publishedVersion = -1L;
+    boolean result;
+
+    private StressOperation(Kind kind, ServerEntry entry, String name, Map<String, ServerEntry> changes) {
+        this.kind = kind;
+        this.entry = entry;
+        this.name = name;
+        this.changes = changes;
+    }
+
+    /**
+     * Creates an addServer operation.
+     *
+     * @param entry entry to add
+     * @return the operation
+     */
+    static StressOperation add(ServerEntry entry) {
+        return new StressOperation(Kind.ADD, entry, entry.getName(), null);
+    }
+
+    /**
+     * Creates a removeServer operation.
+     *
+     * @param name name to remove, in any case
+     * @return the operation
+     */
+    static StressOperation remove(String name) {
+        return new StressOperation(Kind.REMOVE, null, name, null);
+    }
+
+    /**
+     * Creates an empty applyBatch operation; fill it with {@link #put} and {@link #removeInBatch}.
+     *
+     * @return the operation
+     */
+    static StressOperation batch() {
+        return new StressOperation(Kind.BATCH, null, null, new LinkedHashMap<>());
+    }
+
+    /**
+     * Adds or replaces an entry in a batch operation.
+     *
+     * @param batchEntry entry to put
+     */
+    void put(ServerEntry batchEntry) {
+        changes.put(key(batchEntry.getName()), batchEntry);
+    }
+
+    /**
+     * Removes a name in a batch operation.
+     *
+     * @param batchName name to remove
+     */
+    void removeInBatch(String batchName) {
+        changes.put(key(batchName), null);
+    }
+
+    /**
+     * Builds the registry batch holding the same changes, in the same order.
+     *
+     * @return the batch to apply
+     */
+    ServerListBatch toBatch() {
+        ServerListBatch batch = new ServerListBatch();
+        for (Map.Entry<String, ServerEntry> change : changes.entrySet()) {
+            if (change.getValue() != null) {
+                batch.put(change.getValue());
+            } else {
+                batch.remove(change.getKey());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Returns what the operation does.
+     *
+     * @return the operation kind
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the entry an add operation inserts.
+     *
+     * @return the entry, or null for removes and batches
+     */
+    ServerEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Returns the name an add or remove operation targets.
+     *
+     * @return the name, or null for batches
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Applies the operation to a list the way a single-threaded registry would: names match
+     * case-insensitively, adds of a taken name do nothing, replacements keep their position and new
+     * entries are appended.
+     *
+     * @param entries list before the operation
+     * @return list after the operation
+     */
+    List<ServerEntry> applyTo(List<ServerEntry> entries) {
+        List<ServerEntry> result = new ArrayList<>(entries);
+        switch (kind) {
+            case ADD:
+                if (indexOf(result, name) < 0) {
+                    result.add(entry);
+                }
+                break;
+            case REMOVE:
+                int index = indexOf(result, name);
+                if (index >= 0) {
+                    result.remove(index);
+                }
+                break;
+            default:
+                for (Map.Entry<String, ServerEntry> change : changes.entrySet()) {
+                    int existing = indexOf(result, change.getKey());
+                    if (existing < 0) {
+                        if (change.getValue() != null) {
+                            result.add(change.getValue());
+                        }
+                    } else if (change.getValue() == null) {
+                        result.remove(existing);
+                    } else {
+                        result.set(existing, change.getValue());
+                    }
+                }
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Describes the operation for failure messages.
+     *
+     * @return a short description
+     */
+    @Override
+    public String toString() {
+        String target = kind == Kind.BATCH ? changes.keySet().toString() : name;
+        return kind + " " + target + " [versions " + startVersion + ".." + endVersion + ", published "
+                + publishedVersion + "]";
+    }
+
+    /**
+     * Finds a name in a list, ignoring case.
+     *
+     * @param entries list to search
+     * @param entryName name to find
+     * @return the index, or -1 if absent
+     */
+    static int indexOf(List<ServerEntry> entries, String entryName) {
+        String wanted = key(entryName);
+        for (int i = 0; i < entries.size(); i++) {
+            if (wanted.equals(key(entries.get(i).getName()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Folds a name the way the registry does.
+     *
+     * @param entryName name to fold
+     * @return the lower-case name
+     */
+    private static String key(String entryName) {
+        return entryName.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,238 @@
+package com.dmvlab.swapserver.health;
+
+import com.dmvlab.swapserver.manager.ServerListManager;
+import com.dmvlab.swapserver.model.ServerEndpoint;
+import com.dmvlab.swapserver.model.ServerEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the QUIC version probe, background probe rounds and transfer preflight checks against fake servers
+ * on loopback, and checks the packet the probe sends, that answering and silent servers are reported online
+ * and offline, and that a fresh status is reused without probing again.
+ */
+class ServerHealthProberTest {
+    private static final String LOOPBACK = "127.0.0.1";
+    private static final int TIMEOUT_MILLIS = 1_000;
+    private static final int SILENCE_MILLIS = 300;
+    private static final int RESERVED_VERSION = 0x1a2a3a4a;
+    private static final long ROUND_MILLIS = 50L;
+    private static final long WAIT_MILLIS = 10_000L;
+
+    @TempDir
+    Path dataFolder;
+
+    private final List<DatagramSocket> sockets = new ArrayList<>();
+    private final HostResolver hostResolver = new HostResolver();
+    private final AtomicInteger probes = new AtomicInteger();
+    private ServerListManager serverManager;
+    private ServerHealthProber prober;
+
+    /**
+     * Creates an empty registry and a prober over it that is not started yet.
+     */
+    @BeforeEach
+    void open() {
+        serverManager = new ServerListManager(dataFolder);
+        prober = new ServerHealthProber(serverManager, hostResolver, this::countedProbe,
+                (host, port, timeoutMillis) -> ServerPopulation.UNKNOWN, 0, ROUND_MILLIS, SILENCE_MILLIS, 4);
+    }
+
+    /**
+     * Closes the prober, the resolver, the registry and every fake server socket.
+     */
+    @AfterEach
+    void shutdown() {
+        prober.close();
+        hostResolver.close();
+        serverManager.shutdown();
+        for (DatagramSocket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    /**
+     * The probe sends a full-size long-header packet with the reserved version and times the answer.
+     */
+    @Test
+    void probeSendsVersionNegotiationTrigger() throws IOException {
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        DatagramSocket server = answering(received);
+
+        long rttNanos = new QuicVersionProbe().probe(LOOPBACK, server.getLocalPort(), TIMEOUT_MILLIS);
+
+        assertTrue(rttNanos > 0L, "rtt " + rttNanos);
+        byte[] packet = received.get();
+        assertEquals(1200, packet.length);
+        assertEquals(0xC0, packet[0] & 0xC0);
+        assertEquals(RESERVED_VERSION, ((packet[1] & 0xFF) << 24) | ((packet[2] & 0xFF) << 16)
+                | ((packet[3] & 0xFF) << 8) | (packet[4] & 0xFF));
+        assertEquals(8, packet[5]);
+        assertEquals(8, packet[14]);
+    }
+
+    /**
+     * A server that never answers makes the probe fail once the timeout has passed.
+     */
+    @Test
+    void probeTimesOutOnSilentServer() throws IOException {
+        DatagramSocket silent = bind();
+
+        assertThrows(IOException.class,
+                () -> new QuicVersionProbe().probe(LOOPBACK, silent.getLocalPort(), SILENCE_MILLIS));
+    }
+
+    /**
+     * Background rounds mark an answering server online and a silent one offline, and bump the status
+     * version for each.
+     */
+    @Test
+    void roundsReportAnsweringAndSilentServers() throws IOException {
+        DatagramSocket server = answering(new AtomicReference<>());
+        DatagramSocket silent = bind();
+        ServerEntry up = new ServerEntry("Up", LOOPBACK, server.getLocalPort());
+        ServerEntry down = new ServerEntry("Down", LOOPBACK, silent.getLocalPort());
+        assertTrue(serverManager.addServer(up));
+        assertTrue(serverManager.addServer(down));
+
+        prober.start();
+
+        await(() -> prober.getStatus(up).isOnline() && prober.getStatus(down).isOffline(),
+                () -> "up is " + prober.getStatus(up).getState() + ", down is " + prober.getStatus(down).getState());
+        assertTrue(prober.getStatusVersion() >= 2L, "status version " + prober.getStatusVersion());
+        assertTrue(prober.getStatus(down).getConsecutiveFailures() >= 1);
+    }
+
+    /**
+     * An answering server is online with no failures and bumps the status version.
+     */
+    @Test
+    void preflightReportsAnsweringServerOnline() throws IOException {
+        DatagramSocket server = answering(new AtomicReference<>());
+        ServerEndpoint endpoint = new ServerEndpoint(LOOPBACK, server.getLocalPort());
+        long version = prober.getStatusVersion();
+
+        ServerStatus status = prober.preflight(endpoint, TIMEOUT_MILLIS);
+
+        assertTrue(status.isOnline(), "state " + status.getState());
+        assertEquals(0, status.getConsecutiveFailures());
+        assertTrue(status.getRttMillis() >= 0L);
+        assertSame(status, prober.getStatus(endpoint));
+        assertEquals(version + 1, prober.getStatusVersion());
+    }
+
+    /**
+     * A silent server is offline with one failure, and a second check right after reuses that status.
+     */
+    @Test
+    void preflightReportsSilentServerOfflineAndReusesFreshStatus() throws IOException {
+        DatagramSocket silent = bind();
+        ServerEndpoint endpoint = new ServerEndpoint(LOOPBACK, silent.getLocalPort());
+        long version = prober.getStatusVersion();
+
+        ServerStatus status = prober.preflight(endpoint, SILENCE_MILLIS);
+
+        assertTrue(status.isOffline(), "state " + status.getState());
+        assertEquals(1, status.getConsecutiveFailures());
+        assertEquals(version + 1, prober.getStatusVersion());
+        assertEquals(1, probes.get());
+
+        assertSame(status, prober.preflight(endpoint, SILENCE_MILLIS));
+        assertEquals(1, probes.get());
+        assertEquals(version + 1, prober.getStatusVersion());
+    }
+
+    /**
+     * Runs the real QUIC probe and counts the calls.
+     *
+     * @param host server IP address
+     * @param port server UDP port
+     * @param timeoutMillis maximum time to wait for an answer
+     * @return the round-trip time in nanoseconds
+     * @throws IOException if the server did not answer in time
+     */
+    private long countedProbe(String host, int port, int timeoutMillis) throws IOException {
+        probes.incrementAndGet();
+        return new QuicVersionProbe().probe(host, port, timeoutMillis);
+    }
+
+    /**
+     * Waits for a condition that depends on a probe round having run.
+     *
+     * @param condition condition to wait for
+     * @param message failure message, built once the wait timed out
+     */
+    private static void await(BooleanSupplier condition, Supplier<String> message) {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message.get());
+            }
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    /**
+     * Binds a loopback socket that is closed after the test.
+     *
+     * @return the bound socket
+     */
+    private DatagramSocket bind() throws SocketException {
+        DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        sockets.add(socket);
+        return socket;
+    }
+
+    /**
+     * Starts a fake server that answers every datagram with a short reply, standing in for a Version
+     * Negotiation packet.
+     *
+     * @param received filled with the last datagram the server got
+     * @return the server socket
+     */
+    private DatagramSocket answering(AtomicReference<byte[]> received) throws SocketException {
+        DatagramSocket server = bind();
+        Thread.ofVirtual().start(() -> {
+            byte[] buffer = new byte[1500];
+            while (!server.isClosed()) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    server.receive(packet);
+                    byte[] copy = new byte[packet.getLength()];
+                    System.arraycopy(buffer, 0, copy, 0, copy.length);
+                    received.set(copy);
+                    server.send(new DatagramPacket(new byte[16], 16, packet.getSocketAddress()));
+                } catch (IOException e) {
+                    // Closed by shutdown.
+                }
+            }
+        });
+        return server;
+    }
+}
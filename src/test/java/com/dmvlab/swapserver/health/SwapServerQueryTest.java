@@ -0,0 +1,213 @@
+package com.dmvlab.swapserver.health;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the population query against a responder and against hand-written fake servers on loopback, and
+ * checks the round trip, that malformed requests and replies are dropped, and that a silent server times out.
+ */
+class SwapServerQueryTest {
+    private static final String LOOPBACK = "127.0.0.1";
+    private static final int TIMEOUT_MILLIS = 1_000;
+    private static final int SILENCE_MILLIS = 300;
+
+    private final List<SwapServerQueryResponder> responders = new ArrayList<>();
+    private final List<DatagramSocket> sockets = new ArrayList<>();
+
+    /**
+     * Closes every responder and fake server socket.
+     */
+    @AfterEach
+    void shutdown() {
+        for (SwapServerQueryResponder responder : responders) {
+            responder.close();
+        }
+        for (DatagramSocket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    /**
+     * The reply carries the responder's connected player count and capacity.
+     */
+    @Test
+    void roundTrip() throws IOException {
+        int port = freePort();
+        SwapServerQueryResponder responder = startResponder(port, 100);
+        UUID leaving = UUID.randomUUID();
+        responder.playerConnected(UUID.randomUUID());
+        responder.playerConnected(UUID.randomUUID());
+        responder.playerConnected(leaving);
+        responder.playerDisconnected(leaving);
+
+        ServerPopulation population = new SwapServerQuery().query(LOOPBACK, port, TIMEOUT_MILLIS);
+
+        assertEquals(2, population.getPlayers());
+        assertEquals(100, population.getCapacity());
+        assertTrue(population.isKnown());
+    }
+
+    /**
+     * Requests with a wrong magic or version, or shorter than a full request, get no answer, and the responder
+     * keeps serving well-formed requests afterwards.
+     */
+    @Test
+    void responderIgnoresMalformedRequests() throws IOException {
+        int port = freePort();
+        startResponder(port, 10);
+
+        assertNoReply(port, request(0x12345678, SwapServerQuery.VERSION, SwapServerQuery.REQUEST_SIZE));
+        assertNoReply(port, request(SwapServerQuery.MAGIC, (byte) (SwapServerQuery.VERSION + 1),
+                SwapServerQuery.REQUEST_SIZE));
+        assertNoReply(port, request(SwapServerQuery.MAGIC, SwapServerQuery.VERSION, SwapServerQuery.REQUEST_SIZE - 1));
+
+        assertEquals(10, new SwapServerQuery().query(LOOPBACK, port, TIMEOUT_MILLIS).getCapacity());
+    }
+
+    /**
+     * Replies with a wrong magic, version, token or length are rejected.
+     */
+    @Test
+    void queryRejectsInvalidReplies() throws IOException {
+        assertInvalidReply(0x12345678, SwapServerQuery.VERSION, 0L, SwapServerQuery.RESPONSE_SIZE);
+        assertInvalidReply(SwapServerQuery.MAGIC, (byte) (SwapServerQuery.VERSION + 1), 0L,
+                SwapServerQuery.RESPONSE_SIZE);
+        assertInvalidReply(SwapServerQuery.MAGIC, SwapServerQuery.VERSION, 1L, SwapServerQuery.RESPONSE_SIZE);
+        assertInvalidReply(SwapServerQuery.MAGIC, SwapServerQuery.VERSION, 0L, SwapServerQuery.RESPONSE_SIZE - 4);
+    }
+
+    /**
+     * A server that never answers makes the query fail once the timeout has passed.
+     */
+    @Test
+    void silentServerTimesOut() throws IOException {
+        DatagramSocket silent = bind();
+        long start = System.nanoTime();
+
+        assertThrows(IOException.class,
+                () -> new SwapServerQuery().query(LOOPBACK, silent.getLocalPort(), SILENCE_MILLIS));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        assertTrue(elapsedMillis >= SILENCE_MILLIS - 50, "returned after " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < TIMEOUT_MILLIS * 5L, "returned after " + elapsedMillis + " ms");
+    }
+
+    /**
+     * Finds a UDP port nothing is bound to.
+     *
+     * @return a free port
+     */
+    private static int freePort() throws SocketException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Starts a responder that is closed after the test.
+     *
+     * @param port UDP port to answer on
+     * @param capacity capacity the responder reports
+     * @return the started responder
+     */
+    private SwapServerQueryResponder startResponder(int port, int capacity) {
+        SwapServerQueryResponder responder = new SwapServerQueryResponder(port, capacity);
+        responders.add(responder);
+        responder.start();
+        return responder;
+    }
+
+    /**
+     * Binds a loopback socket that is closed after the test.
+     *
+     * @return the bound socket
+     */
+    private DatagramSocket bind() throws SocketException {
+        DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        sockets.add(socket);
+        return socket;
+    }
+
+    /**
+     * Builds a request with the given header, padded with zeros.
+     *
+     * @param magic magic number to write
+     * @param version protocol version to write
+     * @param size total datagram size
+     * @return the datagram payload
+     */
+    private static byte[] request(int magic, byte version, int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(size, 13));
+        buffer.putInt(magic).put(version).putLong(42L);
+        byte[] payload = new byte[size];
+        System.arraycopy(buffer.array(), 0, payload, 0, size);
+        return payload;
+    }
+
+    /**
+     * Sends a raw datagram to the responder and fails if anything comes back.
+     *
+     * @param port responder port
+     * @param payload datagram to send
+     */
+    private void assertNoReply(int port, byte[] payload) throws IOException {
+        DatagramSocket client = bind();
+        client.setSoTimeout(SILENCE_MILLIS);
+        client.send(new DatagramPacket(payload, payload.length, InetAddress.getLoopbackAddress(), port));
+        DatagramPacket reply = new DatagramPacket(new byte[SwapServerQuery.RESPONSE_SIZE],
+                SwapServerQuery.RESPONSE_SIZE);
+        assertThrows(SocketTimeoutException.class, () -> client.receive(reply));
+    }
+
+    /**
+     * Runs a query against a fake server that answers with a tampered reply, and expects it to fail.
+     *
+     * @param magic magic number the fake server writes
+     * @param version protocol version the fake server writes
+     * @param tokenDelta value added to the request token before it is echoed
+     * @param size length of the reply datagram
+     */
+    private void assertInvalidReply(int magic, byte version, long tokenDelta, int size) throws IOException {
+        DatagramSocket server = bind();
+        Thread fake = Thread.ofVirtual().start(() -> {
+            byte[] buffer = new byte[SwapServerQuery.REQUEST_SIZE];
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                server.receive(packet);
+                ByteBuffer request = ByteBuffer.wrap(buffer);
+                request.getInt();
+                request.get();
+                long token = request.getLong() + tokenDelta;
+                ByteBuffer reply = ByteBuffer.allocate(SwapServerQuery.RESPONSE_SIZE);
+                reply.putInt(magic).put(version).putLong(token).putInt(1).putInt(1);
+                server.send(new DatagramPacket(reply.array(), size, packet.getSocketAddress()));
+            } catch (IOException e) {
+                // Closed by shutdown.
+            }
+        });
+
+        assertThrows(IOException.class,
+                () -> new SwapServerQuery().query(LOOPBACK, server.getLocalPort(), TIMEOUT_MILLIS));
+        try {
+            fake.join(TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays hand-written journals and checks that a torn last record is cut, that malformed records are
+ * skipped, that replay is last-writer-wins per case-folded name, that replaying records already in the
+ * snapshot changes nothing, and that compaction folds the journal into servers.json.
+ */
+class ServerListJournalTest {
+    private static final Gson GSON = new Gson();
+
+    @TempDir
+    Path dataFolder;
+
+    /**
+     * A record cut off by a crash is dropped and removed from the file; the records before it survive.
+     *
+     * @throws IOException if the journal cannot be written or read
+     */
+    @Test
+    void tornLastLineIsCutAndEarlierRecordsSurvive() throws IOException {
+        String complete = line(ServerListJournal.OP_ADD, new ServerEntry("Alpha", "10.0.0.1", 5520))
+                + line(ServerListJournal.OP_ADD, new ServerEntry("Beta", "10.0.0.2", 5520));
+        String torn = line(ServerListJournal.OP_ADD, new ServerEntry("Gamma", "10.0.0.3", 5520));
+        Path journal = write(complete + torn.substring(0, torn.length() / 2));
+
+        List<ServerEntry> entries = ServerListJournal.replay(journal, List.of());
+
+        assertEquals(List.of("Alpha 10.0.0.1:5520", "Beta 10.0.0.2:5520"), describe(entries));
+        assertEquals(complete, Files.readString(journal, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Unreadable lines, unknown operations and adds without an entry are skipped; the rest still applies.
+     *
+     * @throws IOException if the journal cannot be written or read
+     */
+    @Test
+    void malformedRecordsAreSkipped() throws IOException {
+        Path journal = write("not json\n"
+                + "{\"op\":\"rename\",\"name\":\"Alpha\"}\n"
+                + "{\"op\":\"add\",\"name\":\"Beta\"}\n"
+                + line(ServerListJournal.OP_ADD, new ServerEntry("Alpha", "10.0.0.1", 5520)));
+
+        List<ServerEntry> entries = ServerListJournal.replay(journal, List.of());
+
+        assertEquals(List.of("Alpha 10.0.0.1:5520"), describe(entries));
+    }
+
+    /**
+     * A removal followed by an add of the same name in different case leaves only the new entry, and an
+     * add whose name differs only in case replaces the entry from the snapshot.
+     *
+     * @throws IOException if the journal cannot be written or read
+     */
+    @Test
+    void removeThenAddWithDifferentCaseKeepsNewEntry() throws IOException {
+        List<ServerEntry> base = List.of(new ServerEntry("Lobby", "10.0.0.1", 5520),
+                new ServerEntry("Hub", "10.0.0.2", 5520));
+        Path journal = write(removal("Lobby")
+                + line(ServerListJournal.OP_ADD, new ServerEntry("LOBBY", "10.0.0.9", 6000))
+                + line(ServerListJournal.OP_UPDATE, new ServerEntry("hub", "10.0.0.8", 6001)));
+
+        List<ServerEntry> entries = ServerListJournal.replay(journal, base);
+
+        assertEquals(List.of("hub 10.0.0.8:6001", "LOBBY 10.0.0.9:6000"), describe(entries));
+    }
+
+    /**
+     * Replaying a journal over a snapshot that already contains its records gives the same list.
+     *
+     * @throws IOException if the journal cannot be written or read
+     */
+    @Test
+    void replayOverSnapshotContainingRecordsChangesNothing() throws IOException {
+        List<ServerEntry> base = List.of(new ServerEntry("Alpha", "10.0.0.1", 5520),
+                new ServerEntry("Beta", "10.0.0.2", 5520));
+        Path journal = write(line(ServerListJournal.OP_UPDATE, new ServerEntry("Alpha", "10.0.0.1", 5521))
+                + removal("Beta")
+                + line(ServerListJournal.OP_ADD, new ServerEntry("Gamma", "10.0.0.3", 5520)));
+
+        List<ServerEntry> once = ServerListJournal.replay(journal, base);
+        List<ServerEntry> twice = ServerListJournal.replay(journal, once);
+
+        assertEquals(List.of("Alpha 10.0.0.1:5521", "Gamma 10.0.0.3:5520"), describe(once));
+        assertEquals(describe(once), describe(twice));
+    }
+
+    /**
+     * Shutting down a journal-mode manager folds the journal into servers.json and empties it, and the
+     * next start reads the same list back.
+     *
+     * @throws IOException if the files cannot be read
+     */
+    @Test
+    void compactionFoldsJournalIntoSnapshot() throws IOException {
+        ServerListManager first = new ServerListManager(dataFolder, StorageMode.JOURNAL);
+        assertTrue(first.addServer(new ServerEntry("Alpha", "10.0.0.1", 5520)));
+        assertTrue(first.addServer(new ServerEntry("Beta", "10.0.0.2", 5520)));
+        first.removeServer("alpha");
+        first.shutdown();
+
+        Path journal = dataFolder.resolve("servers.journal");
+        assertEquals(0L, Files.size(journal));
+        List<ServerEntry> snapshot = new ArrayList<>();
+        ServerListFiles.read(dataFolder.resolve("servers.json"), snapshot::add);
+        assertEquals(List.of("Beta 10.0.0.2:5520"), describe(snapshot));
+
+        ServerListManager second = new ServerListManager(dataFolder, StorageMode.JOURNAL);
+        try {
+            assertEquals(List.of("Beta 10.0.0.2:5520"), describe(second.getServerList()));
+            assertFalse(second.findServerByName("alpha").isPresent());
+        } finally {
+            second.shutdown();
+        }
+    }
+
+    /**
+     * Writes the journal file.
+     *
+     * @param content journal lines
+     * @return the journal path
+     * @throws IOException if the file cannot be written
+     */
+    private Path write(String content) throws IOException {
+        Path journal = dataFolder.resolve("servers.journal");
+        Files.writeString(journal, content, StandardCharsets.UTF_8);
+        return journal;
+    }
+
+    /**
+     * Formats an add or update record as a journal line.
+     *
+     * @param op add or update
+     * @param entry the new entry
+     * @return the line, ending with a newline
+     */
+    private static String line(String op, ServerEntry entry) {
+        return GSON.toJson(new ServerListJournal.Record(op, entry.getName(), entry)) + "\n";
+    }
+
+    /**
+     * Formats a removal record as a journal line.
+     *
+     * @param name name of the removed server
+     * @return the line, ending with a newline
+     */
+    private static String removal(String name) {
+        return GSON.toJson(new ServerListJournal.Record(ServerListJournal.OP_REMOVE, name, null)) + "\n";
+    }
+
+    /**
+     * Describes entries as "name ip:port", in list order.
+     *
+     * @param entries entries to describe
+     * @return one description per entry
+     */
+    private static List<String> describe(List<ServerEntry> entries) {
+        List<String> descriptions = new ArrayList<>();
+        for (ServerEntry entry : entries) {
+            descriptions.add(entry.getName() + " " + entry.getIp() + ":" + entry.getPort());
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,254 @@
+package com.dmvlab.swapserver.manager;
+
+import com.dmvlab.swapserver.model.ServerEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs two or three managers on one SQLite database and checks that changes cross between them through
+ * the change feed, that a node behind a pruned feed reloads the table, and that local edits not yet
+ * written are never undone by older rows from another node.
+ */
+class SqliteRegistryBackendTest {
+    private static final long FAST_POLL_MILLIS = 50L;
+    private static final long SLOW_POLL_MILLIS = 1_000L;
+    private static final long WAIT_MILLIS = 10_000L;
+
+    @TempDir
+    Path dataFolder;
+
+    private final List<ServerListManager> managers = new ArrayList<>();
+
+    /**
+     * Shuts every manager down, which also closes its database connection.
+     */
+    @AfterEach
+    void shutdown() {
+        for (ServerListManager manager : managers) {
+            manager.shutdown();
+        }
+    }
+
+    /**
+     * Adds, batch changes and removals made on one node show up on the other.
+     */
+    @Test
+    void changesCrossBetweenManagers() {
+        ServerListManager first = open(FAST_POLL_MILLIS);
+        ServerListManager second = open(FAST_POLL_MILLIS);
+
+        assertTrue(first.addServer(new ServerEntry("Alpha", "10.0.0.1", 5520)));
+        awaitPort(second, "alpha", 5520);
+        assertTrue(second.addServer(new ServerEntry("Beta", "10.0.0.2", 5520)));
+        awaitPort(first, "beta", 5520);
+
+        ServerListBatch batch = new ServerListBatch();
+        batch.put(new ServerEntry("Alpha", "10.0.0.1", 5521));
+        batch.remove("Beta");
+        first.applyBatch(batch);
+        awaitPort(second, "alpha", 5521);
+        awaitPort(second, "beta", -1);
+
+        second.removeServer("alpha");
+        awaitPort(first, "alpha", -1);
+        assertEquals(0, first.getServerList().size());
+    }
+
+    /**
+     * A node that missed changes already pruned from the feed reloads the whole table.
+     */
+    @Test
+    void managerBehindPrunedFeedReloadsTable() {
+        ServerListManager first = open(FAST_POLL_MILLIS);
+        ServerListManager second = open(FAST_POLL_MILLIS);
+        assertTrue(second.addServer(new ServerEntry("Kept", "10.0.0.1", 5520)));
+        awaitPort(first, "kept", 5520);
+
+        // One transaction writes more rows than the feed keeps, so the second node must resync.
+        ServerListBatch batch = new ServerListBatch();
+        for (int i = 0; i < 10_050; i++) {
+            batch.put(new ServerEntry("bulk-" + i, "10.0.1.1", 6000 + i % 1000));
+        }
+        batch.remove("Kept");
+        first.applyBatch(batch);
+
+        await(() -> second.getServerList().size() == 10_050, () -> "second node never reloaded the table");
+        awaitPort(second, "kept", -1);
+        assertEquals(entries(first), entries(second));
+    }
+
+    /**
+     * A local edit made after another node's row reached the feed, but before this node read it, is
+     * kept here and wins everywhere.
+     */
+    @Test
+    void localEditWinsOverOlderRemoteRow() {
+        ServerListManager local = open(SLOW_POLL_MILLIS);
+        ServerListManager remote = open(FAST_POLL_MILLIS);
+        ServerListManager observer = open(FAST_POLL_MILLIS);
+
+        assertTrue(remote.addServer(new ServerEntry("Gamma", "10.0.0.3", 1)));
+        awaitPort(observer, "gamma", 1);
+
+        // The remote row is in the feed; the slow node has most likely not read it yet.
+        Queue<String> reverts = new ConcurrentLinkedQueue<>();
+        ServerListBatch batch = new ServerListBatch();
+        batch.put(new ServerEntry("Gamma", "10.0.0.3", 2));
+        local.applyBatch(batch);
+        local.addListener((previous, current) -> {
+            ServerEntry gamma = current.getByName("gamma");
+            if (gamma == null || gamma.getPort() != 2) {
+                reverts.add("version " + current.getVersion() + ": " + describe(gamma));
+            }
+        });
+
+        awaitPort(remote, "gamma", 2);
+        awaitPort(observer, "gamma", 2);
+        assertEquals(2, port(local, "gamma"));
+        assertTrue(reverts.isEmpty(), "local edit was undone: " + reverts);
+    }
+
+    /**
+     * Both nodes editing the same names at the same time end with the same list.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writers
+     */
+    @Test
+    void concurrentEditsConverge() throws InterruptedException {
+        ServerListManager first = open(FAST_POLL_MILLIS);
+        ServerListManager second = open(FAST_POLL_MILLIS);
+
+        Thread firstWriter = new Thread(() -> edit(first, 0));
+        Thread secondWriter = new Thread(() -> edit(second, 1));
+        firstWriter.start();
+        secondWriter.start();
+        firstWriter.join();
+        secondWriter.join();
+
+        await(() -> entries(first).equals(entries(second)),
+                () -> "nodes never agreed: " + entries(first) + " vs " + entries(second));
+    }
+
+    /**
+     * Opens a manager on the shared database and starts reading the change feed.
+     *
+     * @param pollIntervalMillis delay between two reads of the feed
+     * @return the loaded manager
+     */
+    private ServerListManager open(long pollIntervalMillis) {
+        ServerListManager manager = new ServerListManager(new SqliteRegistryBackend(dataFolder.resolve("servers.db"),
+                dataFolder.resolve("servers.json"), pollIntervalMillis));
+        managers.add(manager);
+        manager.startWatching();
+        return manager;
+    }
+
+    /**
+     * Changes a few shared names many times, so both nodes edit the same entries at the same time.
+     *
+     * @param manager node making the edits
+     * @param node number of the node, written into the ports
+     */
+    private static void edit(ServerListManager manager, int node) {
+        for (int i = 0; i < 200; i++) {
+            String name = "shared-" + (i % 5);
+            if (i % 7 == 0) {
+                manager.removeServer(name);
+            } else {
+                ServerListBatch batch = new ServerListBatch();
+                batch.put(new ServerEntry(name, "10.0.2." + node, node * 1000 + i));
+                manager.applyBatch(batch);
+            }
+            if (i % 20 == 0) {
+                try {
+                    Thread.sleep(FAST_POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits until a manager shows an entry with the given port.
+     *
+     * @param manager manager to watch
+     * @param name entry name
+     * @param port expected port, or -1 for a missing entry
+     */
+    private static void awaitPort(ServerListManager manager, String name, int port) {
+        await(() -> port(manager, name) == port,
+                () -> name + " never reached port " + port + ", is " + port(manager, name));
+    }
+
+    /**
+     * Returns the port of an entry.
+     *
+     * @param manager manager to read
+     * @param name entry name
+     * @return the port, or -1 if the entry is missing
+     */
+    private static int port(ServerListManager manager, String name) {
+        return manager.findServerByName(name).map(ServerEntry::getPort).orElse(-1);
+    }
+
+    /**
+     * Describes every entry of a manager, sorted, so two lists compare regardless of order.
+     *
+     * @param manager manager to read
+     * @return one line per entry
+     */
+    private static List<String> entries(ServerListManager manager) {
+        List<String> entries = new ArrayList<>();
+        for (ServerEntry entry : manager.getServerList()) {
+            entries.add(describe(entry));
+        }
+        entries.sort(null);
+        return entries;
+    }
+
+    /**
+     * Describes an entry for assertion messages.
+     *
+     * @param entry entry to describe, or null
+     * @return name, address and port, or "missing"
+     */
+    private static String describe(ServerEntry entry) {
+        return entry == null ? "missing" : entry.getName() + "@" + entry.getIp() + ":" + entry.getPort();
+    }
+
+    /**
+     * Waits for a condition that depends on the feed being polled.
+     *
+     * @param condition condition to wait for
+     * @param message failure message, built once the wait timed out
+     */
+    private static void await(BooleanSupplier condition, Supplier<String> message) {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message.get());
+            }
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}